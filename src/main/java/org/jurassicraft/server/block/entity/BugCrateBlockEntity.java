@@ -143,6 +143,7 @@ public class BugCrateBlockEntity extends MachineBaseBlockEntity {
 
     @Override
     public void setInventorySlotContents(int index, ItemStack stack) {
+        this.advance();
         NonNullList<ItemStack> slots = this.getSlots();
         boolean stacksEqual = !stack.isEmpty()&& stack.isItemEqual(slots.get(index)) && ItemStack.areItemStackTagsEqual(stack, slots.get(index));
         slots.set(index, stack);
@@ -167,6 +168,7 @@ public class BugCrateBlockEntity extends MachineBaseBlockEntity {
                 this.markDirty();
             }
         }
+        this.wake();
     }
 
 	@Override
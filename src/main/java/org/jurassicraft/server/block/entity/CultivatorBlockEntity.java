@@ -34,6 +34,8 @@ public class CultivatorBlockEntity extends MachineBaseBlockEntity implements Tem
     private int vitamins;
     private int temperature;
 
+    private int[] syncedNutrients;
+
     private DinosaurEntity dinosaurEntity; //Used for rendering entities
 
     @Override
@@ -83,41 +85,58 @@ public class CultivatorBlockEntity extends MachineBaseBlockEntity implements Tem
         }
     }
 
+    /**
+     * Fills water and nutrients from every usable bucket and food item before deciding whether the cultivator can
+     * run, since it no longer ticks to take them one at a time.
+     */
     @Override
-    public void update() {
-        super.update();
+    protected void updateProcesses() {
         boolean sync = false;
-        if (!this.world.isRemote) {
-            if (this.waterLevel < 2 && this.slots.get(2).getItem() == Items.WATER_BUCKET) {
-                if (this.slots.get(3).getCount() < 16) {
-                    this.slots.get(2).shrink(1);
-
-                    this.waterLevel++;
+        while (this.waterLevel < 2 && this.slots.get(2).getItem() == Items.WATER_BUCKET && this.slots.get(3).getCount() < 16) {
+            this.slots.get(2).shrink(1);
 
-                    ItemStack stack = this.slots.get(3);
-                    if (stack.getItem() == Items.BUCKET) {
-                        stack.grow(1);
-                    } else {
-                        this.slots.set(3, new ItemStack(Items.BUCKET));
-                    }
+            this.waterLevel++;
 
-                    sync = true;
-                }
+            ItemStack stack = this.slots.get(3);
+            if (stack.getItem() == Items.BUCKET) {
+                stack.grow(1);
+            } else {
+                this.slots.set(3, new ItemStack(Items.BUCKET));
             }
 
-            ItemStack stack = this.slots.get(1);
-            if (!stack.isEmpty()) {
-                if ((this.proximates < MAX_NUTRIENTS) || (this.minerals < MAX_NUTRIENTS) || (this.vitamins < MAX_NUTRIENTS) || (this.lipids < MAX_NUTRIENTS)) {
-                    this.consumeNutrients();
-                    sync = true;
+            sync = true;
+        }
 
-                }
-            }
+        ItemStack stack = this.slots.get(1);
+        while (!stack.isEmpty() && FoodNutrients.get(stack.getItem()) != null && ((this.proximates < MAX_NUTRIENTS) || (this.minerals < MAX_NUTRIENTS) || (this.vitamins < MAX_NUTRIENTS) || (this.lipids < MAX_NUTRIENTS))) {
+            this.consumeNutrients();
+            stack = this.slots.get(1);
+            sync = true;
         }
 
+        super.updateProcesses();
+
         if (sync) {
             this.markDirty();
-            JurassiCraft.NETWORK_WRAPPER.sendToAll(new CultivatorSyncNutrients(this));
+        }
+    }
+
+    /**
+     * Sends the water, nutrient and temperature fields that changed since the last sync.
+     */
+    @Override
+    protected void sendChangedState() {
+        int[] nutrients = new int[CultivatorSyncNutrients.FIELD_COUNT];
+        int changed = 0;
+        for (int i = 0; i < nutrients.length; i++) {
+            nutrients[i] = this.getField(this.getProgressFieldCount() + i);
+            if (this.syncedNutrients == null || nutrients[i] != this.syncedNutrients[i]) {
+                changed |= 1 << i;
+            }
+        }
+        if (changed != 0) {
+            this.syncedNutrients = nutrients;
+            this.sendToWatching(new CultivatorSyncNutrients(this.pos, changed, nutrients));
         }
     }
 
@@ -290,6 +309,7 @@ public class CultivatorBlockEntity extends MachineBaseBlockEntity implements Tem
 
     @Override
     public int getField(int id) {
+        this.advance();
         int processCount = this.getProcessCount();
 
         if (id < processCount) {
@@ -319,6 +339,7 @@ public class CultivatorBlockEntity extends MachineBaseBlockEntity implements Tem
 
     @Override
     public void setField(int id, int value) {
+        this.advance();
         int processCount = this.getProcessCount();
         if (id < processCount) {
             this.processTime[id] = value;
@@ -10,17 +10,15 @@ import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
 import org.jurassicraft.JurassiCraft;
-import org.jurassicraft.server.api.Hybrid;
 import org.jurassicraft.server.container.DNACombinatorHybridizerContainer;
 import org.jurassicraft.server.dinosaur.Dinosaur;
+import org.jurassicraft.server.dinosaur.HybridIndex;
 import org.jurassicraft.server.entity.EntityHandler;
 import org.jurassicraft.server.genetics.DinoDNA;
+import org.jurassicraft.server.genetics.Genome;
 import org.jurassicraft.server.genetics.PlantDNA;
 import org.jurassicraft.server.item.ItemHandler;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class DNACombinatorHybridizerBlockEntity extends MachineBaseBlockEntity {
     private static final int[] HYBRIDIZER_INPUTS = new int[] { 0, 1, 2, 3, 4, 5, 6, 7 };
     private static final int[] COMBINATOR_INPUTS = new int[] { 8, 9 };
@@ -31,58 +29,25 @@ public class DNACombinatorHybridizerBlockEntity extends MachineBaseBlockEntity {
 
     private boolean hybridizerMode;
 
+    private Dinosaur hybrid;
+
     @Override
     protected int getProcess(int slot) {
         return 0;
     }
 
-    private Dinosaur getHybrid() {
-        return this.getHybrid(this.slots.get(0), this.slots.get(1), this.slots.get(2), this.slots.get(3), this.slots.get(4), this.slots.get(5), this.slots.get(6), this.slots.get(7));
-    }
-
-    private Dinosaur getHybrid(ItemStack... discs) {
-        Dinosaur hybrid = null;
-
-        Dinosaur[] dinosaurs = new Dinosaur[discs.length];
+    /**
+     * Looks up the hybrid made from the discs in the hybridizer slots. Only called when the slots change, so the
+     * result is kept in {@link #hybrid}.
+     */
+    private void updateHybrid() {
+        Dinosaur[] dinosaurs = new Dinosaur[HYBRIDIZER_INPUTS.length];
 
         for (int i = 0; i < dinosaurs.length; i++) {
-            dinosaurs[i] = this.getDino(discs[i]);
+            dinosaurs[i] = this.getDino(this.slots.get(HYBRIDIZER_INPUTS[i]));
         }
 
-        for (Dinosaur dino : EntityHandler.getRegisteredDinosaurs()) {
-            if (dino instanceof Hybrid) {
-                Hybrid dinoHybrid = (Hybrid) dino;
-
-                int count = 0;
-                boolean extra = false;
-
-                List<Class<? extends Dinosaur>> usedGenes = new ArrayList<>();
-
-                for (Dinosaur discDinosaur : dinosaurs) {
-                    Class match = null;
-
-                    for (Class clazz : dinoHybrid.getDinosaurs()) {
-                        if (clazz.isInstance(discDinosaur) && !usedGenes.contains(clazz)) {
-                            match = clazz;
-                        }
-                    }
-
-                    if (match != null && match.isInstance(discDinosaur)) {
-                        usedGenes.add(match);
-                        count++;
-                    } else if (discDinosaur != null) {
-                        extra = true;
-                    }
-                }
-
-                if (!extra && count == dinoHybrid.getDinosaurs().length) {
-                    hybrid = dino;
-
-                    break;
-                }
-            }
-        }
-        return hybrid;
+        this.hybrid = HybridIndex.get(dinosaurs);
     }
 
     private Dinosaur getDino(ItemStack disc) {
@@ -98,7 +63,7 @@ public class DNACombinatorHybridizerBlockEntity extends MachineBaseBlockEntity {
     @Override
     protected boolean canProcess(int process) {
         if (this.hybridizerMode) {
-            return this.slots.get(10).isEmpty() && this.getHybrid() != null;
+            return this.slots.get(10).isEmpty() && this.hybrid != null;
         } else {
             if (!this.slots.get(8).isEmpty() && this.slots.get(8).getItem() == ItemHandler.STORAGE_DISC && !this.slots.get(9).isEmpty() && this.slots.get(9).getItem() == ItemHandler.STORAGE_DISC) {
                 if (this.slots.get(8).getTagCompound() != null && this.slots.get(9).getTagCompound() != null && this.slots.get(11).isEmpty() && this.slots.get(8).getItemDamage() == this.slots.get(9).getItemDamage() && this.slots.get(8).getTagCompound().getString("StorageId").equals(this.slots.get(9).getTagCompound().getString("StorageId"))) {
@@ -114,11 +79,9 @@ public class DNACombinatorHybridizerBlockEntity extends MachineBaseBlockEntity {
     protected void processItem(int process) {
         if (this.canProcess(process)) {
             if (this.hybridizerMode) {
-                Dinosaur hybrid = this.getHybrid();
-
                 NBTTagCompound nbt = new NBTTagCompound();
 
-                DinoDNA dna = new DinoDNA(hybrid, 100, this.slots.get(0).getTagCompound().getString("Genetics"));
+                DinoDNA dna = new DinoDNA(this.hybrid, 100, Genome.from(this.slots.get(0).getTagCompound()));
                 dna.writeToNBT(nbt);
 
                 ItemStack output = new ItemStack(ItemHandler.STORAGE_DISC);
@@ -213,6 +176,13 @@ public class DNACombinatorHybridizerBlockEntity extends MachineBaseBlockEntity {
     @Override
     protected void setSlots(NonNullList<ItemStack> slots) {
         this.slots = slots;
+        this.updateHybrid();
+    }
+
+    @Override
+    protected void onSlotUpdate() {
+        super.onSlotUpdate();
+        this.updateHybrid();
     }
 
     @Override
@@ -251,9 +221,11 @@ public class DNACombinatorHybridizerBlockEntity extends MachineBaseBlockEntity {
     }
 
     public void setMode(boolean mode) {
+        this.advance();
         this.hybridizerMode = mode;
         this.processTime[0] = 0;
         this.world.markBlockRangeForRenderUpdate(this.pos, this.pos);
+        this.wake();
     }
 
     @Override
@@ -3,8 +3,32 @@ package org.jurassicraft.server.block.entity;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.jurassicraft.server.world.FenceHazardIndex;
 
 public class ElectricFenceBaseBlockEntity extends TileEntity {
+    @Override
+    public void onLoad() {
+        if (!this.world.isRemote) {
+            FenceHazardIndex.get(this.world).add(this.pos);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (!this.world.isRemote) {
+            FenceHazardIndex.get(this.world).remove(this.pos);
+        }
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (!this.world.isRemote) {
+            FenceHazardIndex.get(this.world).remove(this.pos);
+        }
+    }
+
     @Override
     @SideOnly(Side.CLIENT)
     public double getMaxRenderDistanceSquared() {
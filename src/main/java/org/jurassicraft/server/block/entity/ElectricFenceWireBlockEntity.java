@@ -10,6 +10,7 @@ import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.util.Constants;
 import org.jurassicraft.server.block.fence.ElectricFencePoleBlock;
+import org.jurassicraft.server.world.FenceHazardIndex;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -62,6 +63,7 @@ public class ElectricFenceWireBlockEntity extends TileEntity implements ITickabl
     }
 
     public void power(BlockPos pole, boolean powered) {
+        boolean wasPowered = this.isPowered();
         if (powered) {
             if (!this.poweringPoles.contains(pole)) {
                 this.poweringPoles.add(pole);
@@ -69,12 +71,42 @@ public class ElectricFenceWireBlockEntity extends TileEntity implements ITickabl
         } else {
             this.poweringPoles.remove(pole);
         }
+        if (wasPowered != this.isPowered() && this.world != null && !this.world.isRemote) {
+            if (this.isPowered()) {
+                FenceHazardIndex.get(this.world).add(this.pos);
+            } else {
+                FenceHazardIndex.get(this.world).remove(this.pos);
+            }
+        }
     }
 
     public boolean isPowered() {
         return this.poweringPoles.size() > 0;
     }
 
+    @Override
+    public void onLoad() {
+        if (!this.world.isRemote && this.isPowered()) {
+            FenceHazardIndex.get(this.world).add(this.pos);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (!this.world.isRemote) {
+            FenceHazardIndex.get(this.world).remove(this.pos);
+        }
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (!this.world.isRemote) {
+            FenceHazardIndex.get(this.world).remove(this.pos);
+        }
+    }
+
     @Override
     public NBTTagCompound writeToNBT(NBTTagCompound compound) {
         compound = super.writeToNBT(compound);
@@ -22,6 +22,7 @@ import org.jurassicraft.server.block.machine.FeederBlock;
 import org.jurassicraft.server.container.FeederContainer;
 import org.jurassicraft.server.entity.DinosaurEntity;
 import org.jurassicraft.server.food.FoodHelper;
+import org.jurassicraft.server.world.FeederIndex;
 
 import java.util.Random;
 
@@ -206,6 +207,28 @@ public class FeederBlockEntity extends TileEntityLockable implements ITickable,
         return compound;
     }
 
+    @Override
+    public void onLoad() {
+        if (!this.world.isRemote) {
+            FeederIndex.get(this.world).add(this.pos);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (!this.world.isRemote) {
+            FeederIndex.get(this.world).remove(this.pos);
+        }
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (!this.world.isRemote) {
+            FeederIndex.get(this.world).remove(this.pos);
+        }
+    }
 
     @Override
     public void update() {
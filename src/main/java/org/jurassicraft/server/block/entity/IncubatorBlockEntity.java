@@ -147,6 +147,7 @@ public class IncubatorBlockEntity extends MachineBaseBlockEntity implements Temp
 
     @Override
     public int getField(int id) {
+        this.advance();
         if (id < 5) {
             return this.processTime[id];
         } else if (id < 10) {
@@ -160,6 +161,7 @@ public class IncubatorBlockEntity extends MachineBaseBlockEntity implements Temp
 
     @Override
     public void setField(int id, int value) {
+        this.advance();
         if (id < 5) {
             this.processTime[id] = value;
         } else if (id < 10) {
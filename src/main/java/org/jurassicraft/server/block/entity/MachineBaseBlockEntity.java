@@ -1,6 +1,7 @@
 package org.jurassicraft.server.block.entity;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.Container;
 import net.minecraft.inventory.IInventory;
@@ -11,23 +12,46 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
+import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.tileentity.TileEntityLockable;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ITickable;
 import net.minecraft.util.NonNullList;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.wrapper.SidedInvWrapper;
+import org.jurassicraft.JurassiCraft;
+import org.jurassicraft.server.conf.JurassiCraftConfig;
+import org.jurassicraft.server.message.MachineProgressMessage;
+import org.jurassicraft.server.world.MachineScheduler;
+
 import javax.annotation.Nullable;
 
-public abstract  class MachineBaseBlockEntity extends TileEntityLockable implements ITickable, ISidedInventory {
+import java.util.Arrays;
+
+public abstract  class MachineBaseBlockEntity extends TileEntityLockable implements ISidedInventory {
+    private static final int MAX_CATCH_UP_CYCLES = 4096;
+
     protected String customName;
 
     protected int[] processTime = new int[this.getProcessCount()];
     protected int[] totalProcessTime = new int[this.getProcessCount()];
 
+    private boolean[] running = new boolean[this.getProcessCount()];
+    private long lastUpdate = -1;
+    private long savedTime = -1;
+    private long scheduledTick = -1;
+    private boolean scheduling;
+
+    private int[] syncedTime = new int[this.getProcessCount()];
+    private int[] syncedTotal = new int[this.getProcessCount()];
+    private boolean[] syncedRunning = new boolean[this.getProcessCount()];
+    private long lastSync = -1;
+    private boolean syncPending;
+
     @SideOnly(Side.CLIENT)
     public static boolean isProcessing(IInventory inventory, int index) {
         return inventory.getField(index) > 0;
@@ -51,25 +75,37 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
             }
         }
 
+        int running = compound.getInteger("RunningProcesses");
         for (int i = 0; i < this.getProcessCount(); i++) {
             this.processTime[i] = compound.getShort("ProcessTime" + i);
             this.totalProcessTime[i] = compound.getShort("ProcessTimeTotal" + i);
+            this.running[i] = (running & 1 << i) != 0;
+        }
+        if (this.world != null && this.world.isRemote) {
+            this.lastUpdate = this.world.getTotalWorldTime();
         }
 
         if (compound.hasKey("CustomName", 8)) {
             this.customName = compound.getString("CustomName");
         }
+        this.savedTime = compound.hasKey("SavedTime") ? compound.getLong("SavedTime") : -1;
         this.setSlots(slots);
     }
 
     @Override
     public NBTTagCompound writeToNBT(NBTTagCompound compound) {
         compound = super.writeToNBT(compound);
+        this.advance();
 
+        int running = 0;
         for (int i = 0; i < this.getProcessCount(); i++) {
             compound.setShort("ProcessTime" + i, (short) this.processTime[i]);
             compound.setShort("ProcessTimeTotal" + i, (short) this.totalProcessTime[i]);
+            if (this.running[i]) {
+                running |= 1 << i;
+            }
         }
+        compound.setInteger("RunningProcesses", running);
 
         NonNullList<ItemStack> slots = this.getSlots();
 
@@ -90,6 +126,9 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
         if (this.hasCustomName()) {
             compound.setString("CustomName", this.customName);
         }
+        if (this.world != null && !this.world.isRemote) {
+            compound.setLong("SavedTime", this.world.getTotalWorldTime());
+        }
         return compound;
     }
 
@@ -101,7 +140,11 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
     @Override
     public ItemStack decrStackSize(int index, int count) {
         NonNullList<ItemStack> slots = this.getSlots();
-        return ItemStackHelper.getAndSplit(slots, index, count);
+        ItemStack stack = ItemStackHelper.getAndSplit(slots, index, count);
+        if (!stack.isEmpty()) {
+            this.onSlotUpdate();
+        }
+        return stack;
     }
 
     @Override
@@ -111,6 +154,7 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
 
     @Override
     public void setInventorySlotContents(int index, ItemStack stack) {
+        this.advance();
         NonNullList<ItemStack> slots = this.getSlots();
 
         boolean stacksEqual = !stack.isEmpty() && stack.isItemEqual(slots.get(index)) && ItemStack.areItemStackTagsEqual(stack, slots.get(index));
@@ -121,6 +165,7 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
         }
 
         if (!stacksEqual) {
+            this.onSlotUpdate();
             int process = this.getProcess(index);
             if (process >= 0 && process < this.getProcessCount()) {
                 this.totalProcessTime[process] = this.getStackProcessTime(stack);
@@ -129,8 +174,8 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
                 }
                 this.markDirty();
             }
-            this.onSlotUpdate();
         }
+        this.wake();
     }
 
     private boolean isInput(int slot) {
@@ -175,15 +220,143 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
         return this.processTime[index] > 0;
     }
 
-    @Override
-    public void update() {
-    	
+    /**
+     * Brings process times up to the current world time. Running processes gain a tick for every tick since the last
+     * update, while stalled processes that keep their progress lose one, so machines do not need to tick to progress.
+     * Clients advance the same way from the last progress they received.
+     */
+    protected void advance() {
+        if (this.world != null) {
+            this.advance(this.world.getTotalWorldTime());
+        }
+    }
+
+    private void advance(long time) {
+        if (this.lastUpdate >= 0 && time > this.lastUpdate) {
+            int elapsed = (int) Math.min(time - this.lastUpdate, Integer.MAX_VALUE);
+            for (int process = 0; process < this.getProcessCount(); process++) {
+                if (this.running[process]) {
+                    this.processTime[process] = (int) Math.min((long) this.processTime[process] + elapsed, Math.max(this.totalProcessTime[process], 1));
+                } else if (this.processTime[process] > 0) {
+                    this.processTime[process] = Math.max(this.processTime[process] - elapsed, 0);
+                }
+            }
+        }
+        this.lastUpdate = time;
+    }
+
+    /**
+     * Re-evaluates which processes can run after the machine's slots or settings changed, and schedules the machine's
+     * next update if any process is running.
+     */
+    public void wake() {
+        if (this.world == null || this.world.isRemote || this.scheduling) {
+            return;
+        }
+        this.scheduling = true;
+        try {
+            this.advance();
+            this.updateProcesses();
+            this.schedule();
+            this.syncProgress();
+        } finally {
+            this.scheduling = false;
+        }
+    }
+
+    /**
+     * Called by the {@link MachineScheduler} when a scheduled update is due. Finishes every process that has reached
+     * its total time, then re-evaluates and reschedules the machine.
+     */
+    public void onScheduledUpdate(long tick) {
+        if (tick != this.scheduledTick || this.isInvalid()) {
+            return;
+        }
+        this.scheduledTick = -1;
+        this.scheduling = true;
+        try {
+            this.advance();
+            if (this.finishProcesses()) {
+                this.markDirty();
+            }
+            this.updateProcesses();
+            this.schedule();
+            this.syncProgress();
+        } finally {
+            this.scheduling = false;
+        }
+    }
+
+    private boolean finishProcesses() {
+        boolean finished = false;
         NonNullList<ItemStack> slots = this.getSlots();
-        if(!world.isRemote) {
         for (int process = 0; process < this.getProcessCount(); process++) {
-            boolean flag = this.isProcessing(process);
-            boolean dirty = false;
+            if (this.running[process] && this.processTime[process] >= this.totalProcessTime[process]) {
+                this.processTime[process] = 0;
+                int total = 0;
+                for (int input : this.getInputs()) {
+                    ItemStack stack = slots.get(input);
+                    if (!stack.isEmpty()) {
+                        total = this.getStackProcessTime(stack);
+                        break;
+                    }
+                }
+                this.totalProcessTime[process] = total;
+                this.processItem(process);
+                this.onSlotUpdate();
+                finished = true;
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * Applies the progress the machine would have made between the given time it was saved at and now. Progress
+     * between two process completions is added in one step, and every completion re-checks the inputs and outputs,
+     * so the machine stops where it would have run out of input or output space.
+     */
+    private void catchUp(long from, long time) {
+        this.scheduling = true;
+        try {
+            this.lastUpdate = from;
+            this.updateProcesses();
+            for (int cycle = 0; cycle < MAX_CATCH_UP_CYCLES; cycle++) {
+                int next = this.getTicksUntilFinished();
+                if (next == Integer.MAX_VALUE || this.lastUpdate + next > time) {
+                    break;
+                }
+                this.advance(this.lastUpdate + next);
+                this.finishProcesses();
+                this.updateProcesses();
+            }
+            this.advance(time);
+        } finally {
+            this.scheduling = false;
+        }
+    }
+
+    /**
+     * Returns the number of ticks until the first running process finishes, or {@link Integer#MAX_VALUE} if no
+     * process is running.
+     */
+    private int getTicksUntilFinished() {
+        int next = Integer.MAX_VALUE;
+        for (int process = 0; process < this.getProcessCount(); process++) {
+            if (this.running[process]) {
+                next = Math.min(next, Math.max(this.totalProcessTime[process] - this.processTime[process], 1));
+            }
+        }
+        return next;
+    }
 
+    /**
+     * Decides for every process whether it has input and can run, clearing the progress of stalled processes that
+     * reset their progress. Only cleared progress marks the machine dirty; whether a process runs is not saved state.
+     */
+    protected void updateProcesses() {
+        NonNullList<ItemStack> slots = this.getSlots();
+        boolean dirty = false;
+        for (int process = 0; process < this.getProcessCount(); process++) {
             boolean hasInput = false;
 
             for (int input : this.getInputs(process)) {
@@ -193,50 +366,170 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
                 }
             }
 
-            if (hasInput && this.canProcess(process)) {
-                this.processTime[process]++;
-
-                if (this.processTime[process] >= this.totalProcessTime[process]) {
-                    this.processTime[process] = 0;
-                    int total = 0;
-                    for (int input : this.getInputs()) {
-                        ItemStack stack = slots.get(input);
-                        if (!stack.isEmpty()) {
-                            total = this.getStackProcessTime(stack);
-                            break;
-                        }
-                    }
-                    this.totalProcessTime[process] = total;
-                    if (!this.world.isRemote)
-                    {
-                    this.processItem(process);
-                    this.onSlotUpdate();
-                    }
-                  
-                }
-
+            boolean running = hasInput && this.canProcess(process);
+            if (!running && this.processTime[process] > 0 && this.shouldResetProgress()) {
+                this.processTime[process] = 0;
                 dirty = true;
-            } else if (this.isProcessing(process)) {
-                if (this.shouldResetProgress()) {
-                    this.processTime[process] = 0;
-                } else if (this.processTime[process] > 0) {
-                    this.processTime[process]--;
-                }
+            }
+            this.running[process] = running;
+        }
+        if (dirty) {
+            this.markDirty();
+        }
+    }
 
-                dirty = true;
+    /**
+     * Schedules the next update for when the first running process finishes. Machines without a running process are
+     * not scheduled.
+     */
+    private void schedule() {
+        int next = this.getTicksUntilFinished();
+        if (next == Integer.MAX_VALUE) {
+            this.scheduledTick = -1;
+            return;
+        }
+        long tick = this.world.getTotalWorldTime() + next;
+        if (tick != this.scheduledTick) {
+            this.scheduledTick = tick;
+            MachineScheduler.get(this.world).schedule(this, tick);
+        }
+    }
+
+    /**
+     * Sends the processes whose progress differs from what clients predict from the last sync, along with any other
+     * changed state, at most once every configured sync interval. Changes within the interval are sent together when
+     * it ends.
+     */
+    private void syncProgress() {
+        long time = this.world.getTotalWorldTime();
+        int interval = JurassiCraftConfig.MACHINES.progressSyncInterval;
+        if (this.lastSync >= 0 && time - this.lastSync < interval) {
+            if (!this.syncPending) {
+                this.syncPending = true;
+                MachineScheduler.get(this.world).scheduleSync(this, this.lastSync + interval);
             }
+            return;
+        }
+        this.sendProgress(time);
+    }
 
-            if (flag != this.isProcessing(process)) {
-                dirty = true;
+    /**
+     * Called by the {@link MachineScheduler} when a delayed progress sync is due.
+     */
+    public void onScheduledSync() {
+        if (this.syncPending && !this.isInvalid()) {
+            this.syncPending = false;
+            this.advance();
+            this.sendProgress(this.world.getTotalWorldTime());
+        }
+    }
+
+    private void sendProgress(long time) {
+        int elapsed = this.lastSync >= 0 ? (int) Math.min(time - this.lastSync, Integer.MAX_VALUE) : 0;
+        int count = 0;
+        int[] processes = new int[this.getProcessCount()];
+        for (int process = 0; process < this.getProcessCount(); process++) {
+            int predicted = this.syncedTime[process];
+            if (this.syncedRunning[process]) {
+                predicted = (int) Math.min((long) predicted + elapsed, Math.max(this.syncedTotal[process], 1));
+            } else {
+                predicted = Math.max(predicted - elapsed, 0);
+            }
+            if (this.lastSync < 0 || predicted != this.processTime[process] || this.syncedTotal[process] != this.totalProcessTime[process] || this.syncedRunning[process] != this.running[process]) {
+                processes[count++] = process;
+            }
+            this.syncedTime[process] = this.processTime[process];
+            this.syncedTotal[process] = this.totalProcessTime[process];
+            this.syncedRunning[process] = this.running[process];
+        }
+        this.lastSync = time;
+        if (count > 0) {
+            int[] times = new int[count];
+            int[] totals = new int[count];
+            boolean[] running = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                times[i] = this.processTime[processes[i]];
+                totals[i] = this.totalProcessTime[processes[i]];
+                running[i] = this.running[processes[i]];
             }
+            this.sendToWatching(new MachineProgressMessage(this.pos, Arrays.copyOf(processes, count), times, totals, running));
+        }
+        this.sendChangedState();
+    }
 
-            if (dirty && !this.world.isRemote) {
-                this.markDirty();
+    /**
+     * Sends the machine specific state that changed since it was last sent to the players watching the machine.
+     */
+    protected void sendChangedState() {
+    }
+
+    /**
+     * Sends the message to the players watching the machine's chunk, which includes every player with its GUI open.
+     */
+    public void sendToWatching(IMessage message) {
+        PlayerChunkMap chunkMap = ((WorldServer) this.world).getPlayerChunkMap();
+        int chunkX = this.pos.getX() >> 4;
+        int chunkZ = this.pos.getZ() >> 4;
+        for (EntityPlayer player : this.world.playerEntities) {
+            if (player instanceof EntityPlayerMP && chunkMap.isPlayerWatchingChunk((EntityPlayerMP) player, chunkX, chunkZ)) {
+                JurassiCraft.NETWORK_WRAPPER.sendTo(message, (EntityPlayerMP) player);
             }
         }
+    }
+
+    /**
+     * Applies progress received from the server.
+     */
+    public void setProgress(int process, int time, int total, boolean running) {
+        if (process >= 0 && process < this.getProcessCount()) {
+            this.advance();
+            this.processTime[process] = time;
+            this.totalProcessTime[process] = total;
+            this.running[process] = running;
         }
     }
-    	
+
+    /**
+     * Returns how many of the first fields hold process progress, which is synced by {@link MachineProgressMessage}
+     * rather than through the container.
+     */
+    public int getProgressFieldCount() {
+        return this.getProcessCount() * 2;
+    }
+
+    @Override
+    public void markDirty() {
+        super.markDirty();
+        this.wake();
+    }
+
+    @Override
+    public void onLoad() {
+        if (!this.world.isRemote) {
+            long time = this.world.getTotalWorldTime();
+            if (JurassiCraftConfig.MACHINES.offlineProgress && this.savedTime >= 0 && time > this.savedTime) {
+                this.catchUp(this.savedTime, time);
+                super.markDirty();
+            } else {
+                this.lastUpdate = time;
+            }
+            this.savedTime = -1;
+            this.wake();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        this.scheduledTick = -1;
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        this.advance();
+        this.scheduledTick = -1;
+    }
 
     @Override
     public boolean isUsableByPlayer(EntityPlayer player) {
@@ -315,6 +608,7 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
 
     @Override
     public int getField(int id) {
+        this.advance();
         int processCount = this.getProcessCount();
         if (id < processCount) {
             return this.processTime[id];
@@ -327,6 +621,7 @@ public abstract  class MachineBaseBlockEntity extends TileEntityLockable impleme
 
     @Override
     public void setField(int id, int value) {
+        this.advance();
         int processCount = this.getProcessCount();
 
         if (id < processCount) {
@@ -0,0 +1,59 @@
+package org.jurassicraft.server.command;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.World;
+import org.jurassicraft.server.entity.AITier;
+import org.jurassicraft.server.entity.DinosaurEntity;
+import org.jurassicraft.server.entity.ai.HerdManager;
+import org.jurassicraft.server.world.DormantIndex;
+
+import java.util.Locale;
+
+public class AIStatsCommand extends CommandBase {
+    @Override
+    public String getName() {
+        return "jcstats";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return "jcstats";
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        World world = sender.getEntityWorld();
+        HerdManager herds = HerdManager.getIfPresent(world);
+        if (herds != null) {
+            sender.sendMessage(new TextComponentString("Herds: " + herds.getHerdCount() + ", members: " + herds.getMemberCount() + ", largest: " + herds.getLargestHerdSize() + ", merges/min: " + herds.getMergesPerMinute()));
+        } else {
+            sender.sendMessage(new TextComponentString("Herds: 0"));
+        }
+
+        int[] tiers = new int[AITier.values().length];
+        int dinosaurs = 0;
+        int relationships = 0;
+        for (Entity entity : world.loadedEntityList) {
+            if (entity instanceof DinosaurEntity) {
+                DinosaurEntity dinosaur = (DinosaurEntity) entity;
+                tiers[dinosaur.getAITier().ordinal()]++;
+                relationships += dinosaur.relationships.size();
+                dinosaurs++;
+            }
+        }
+        StringBuilder builder = new StringBuilder("AI tiers:");
+        for (AITier tier : AITier.values()) {
+            builder.append(' ').append(tier.name().toLowerCase(Locale.ENGLISH)).append(": ").append(tiers[tier.ordinal()]);
+        }
+        sender.sendMessage(new TextComponentString(builder.toString()));
+        sender.sendMessage(new TextComponentString("Relationships: " + relationships + ", per dinosaur: " + (dinosaurs > 0 ? relationships / dinosaurs : 0)));
+
+        DormantIndex dormant = DormantIndex.getIfPresent(world);
+        sender.sendMessage(new TextComponentString("Dormant: " + (dormant != null ? dormant.size() : 0)));
+    }
+}
@@ -26,6 +26,9 @@ public class JurassiCraftConfig { //TODO: move all structures to same parent pac
     @Config.Name("vehicles")
     public static final Vehicles VEHICLES = new Vehicles();
 
+    @Config.Name("machines")
+    public static final Machines MACHINES = new Machines();
+
 
     public static class Entities {
         @Config.Name("Dinosaur Spawning")
@@ -40,6 +43,52 @@ public class JurassiCraftConfig { //TODO: move all structures to same parent pac
         @Config.Name("Override growth serum disable")
         public boolean disableGrowthSerumRecipe = true;
 
+        @Config.Name("AI Level of Detail")
+        @Config.Comment("Run AI less often for dinosaurs far away from players")
+        public boolean aiLevelOfDetail = true;
+
+        @Config.Name("AI Near Distance")
+        @Config.Comment("Distance to the closest player within which dinosaurs run full AI")
+        @Config.RangeInt(min = 0)
+        public int aiNearDistance = 48;
+
+        @Config.Name("AI Far Distance")
+        @Config.Comment("Distance to the closest player beyond which untracked dinosaurs run their AI least often")
+        @Config.RangeInt(min = 0)
+        public int aiFarDistance = 96;
+
+        @Config.Name("Dormant Dinosaurs")
+        @Config.Comment("Let sleeping and sitting dinosaurs go dormant, only checking for predators when something comes close")
+        public boolean dormantDinosaurs = true;
+
+        @Config.Name("Async Pathfinding")
+        @Config.Comment("Search dinosaur movement paths on worker threads against a copy of the nearby blocks")
+        public boolean asyncPathfinding = false;
+
+        @Config.Name("Pathfinding Threads")
+        @Config.Comment("Worker threads used by async pathfinding. Takes effect after a restart")
+        @Config.RangeInt(min = 1, max = 8)
+        public int pathfindingThreads = 2;
+
+        @Config.Name("Pathfinding Budget")
+        @Config.Comment("Async path requests started per server tick. Requests over the budget wait for a later tick")
+        @Config.RangeInt(min = 1)
+        public int pathfindingBudget = 8;
+
+        @Config.Name("Herd Steering Interval")
+        @Config.Comment("Ticks between herd separation updates for large herds, interpolated in between. 1 updates every tick")
+        @Config.RangeInt(min = 1, max = 20)
+        public int herdSteeringInterval = 1;
+
+        @Config.Name("Herd Steering Interval Min Size")
+        @Config.Comment("Smallest herd that uses the herd steering interval")
+        @Config.RangeInt(min = 1)
+        public int herdSteeringMinSize = 16;
+
+        @Config.Name("Herd Flow Fields")
+        @Config.Comment("Steer moving herds along one shared flow field instead of a path search per member")
+        public boolean herdFlowFields = false;
+
     }
 
     public static class MineralGeneration {
@@ -97,6 +146,17 @@ public class JurassiCraftConfig { //TODO: move all structures to same parent pac
         @Config.Name("Enable Tour Rail Blocks")
         public boolean tourRailBlockEnabled = true;
     }
+
+    public static class Machines {
+        @Config.Name("Offline Progress")
+        @Config.Comment("Let machines catch up on the progress they would have made while their chunk was unloaded")
+        public boolean offlineProgress = true;
+
+        @Config.Name("Progress Sync Interval")
+        @Config.Comment("The minimum number of ticks between machine progress updates sent to clients")
+        @Config.RangeInt(min = 1)
+        public int progressSyncInterval = 10;
+    }
     @SubscribeEvent
     public static void onConfigChanged(ConfigChangedEvent.OnConfigChangedEvent event) {
         if(JurassiCraft.MODID.equals(event.getModID())) {
@@ -8,6 +8,7 @@ import net.minecraft.inventory.Slot;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.jurassicraft.server.block.entity.MachineBaseBlockEntity;
 
 public abstract class MachineContainer extends Container {
     private int[] fields;
@@ -22,8 +23,9 @@ public abstract class MachineContainer extends Container {
     public void detectAndSendChanges() {
         super.detectAndSendChanges();
 
+        int firstField = this.inventory instanceof MachineBaseBlockEntity ? ((MachineBaseBlockEntity) this.inventory).getProgressFieldCount() : 0;
         for (IContainerListener listener : this.listeners) {
-            for (int fieldIndex = 0; fieldIndex < this.fields.length; fieldIndex++) {
+            for (int fieldIndex = firstField; fieldIndex < this.fields.length; fieldIndex++) {
                 int field = this.inventory.getField(fieldIndex);
 
                 if (field != this.fields[fieldIndex]) {
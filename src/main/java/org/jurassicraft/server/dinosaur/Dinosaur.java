@@ -1,11 +1,17 @@
 package org.jurassicraft.server.dinosaur;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.vecmathimpl.Matrix4d;
 import javax.vecmathimpl.Vector3d;
@@ -24,11 +30,16 @@ import org.jurassicraft.server.tabula.TabulaModelHelper;
 
 import net.ilexiconn.llibrary.client.model.tabula.container.TabulaCubeContainer;
 import net.ilexiconn.llibrary.client.model.tabula.container.TabulaModelContainer;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.biome.Biome;
 
 public abstract class Dinosaur implements Comparable<Dinosaur> {
+    private static final Map<Class<?>, Integer> CLASS_BITS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_CLASS_BIT = new AtomicInteger();
+
     private final Map<GrowthStage, List<ResourceLocation>> overlays = new HashMap<>();
     private final Map<GrowthStage, ResourceLocation> maleTextures = new HashMap<>();
     private final Map<GrowthStage, ResourceLocation> femaleTextures = new HashMap<>();
@@ -76,6 +87,8 @@ public abstract class Dinosaur implements Comparable<Dinosaur> {
     private TabulaModelContainer modelAdolescent;
     private TabulaModelContainer modelSkeleton;
 
+    private final double[][] headPositions = new double[GrowthStage.values().length][];
+
     private PoseHandler<?> poseHandler;
 
     private boolean defendOwner;
@@ -100,6 +113,10 @@ public abstract class Dinosaur implements Comparable<Dinosaur> {
 
     private String[][] recipe;
 
+    private final Set<Class<? extends EntityLivingBase>> targets = new HashSet<>();
+    private final BitSet prey = new BitSet();
+    private final BitSet resolvedPrey = new BitSet();
+
     public static Matrix4d getParentRotationMatrix(TabulaModelContainer model, TabulaCubeContainer cube, boolean includeParents, boolean ignoreSelf, float rot) {
         List<TabulaCubeContainer> parentCubes = new ArrayList<>();
 
@@ -179,6 +196,10 @@ public abstract class Dinosaur implements Comparable<Dinosaur> {
             }
         }
 
+        for (GrowthStage stage : GrowthStage.values()) {
+            this.headPositions[stage.ordinal()] = this.computeHeadPosition(stage);
+        }
+
         String baseTextures = "textures/entities/" + formattedName + "/";
 
         for (GrowthStage growthStage : GrowthStage.values()) {
@@ -584,8 +605,31 @@ public abstract class Dinosaur implements Comparable<Dinosaur> {
         return new double[] { 0.0, 0.0, 0.0 };
     }
 
+    /**
+     * Returns the head position for the given stage, rotated around the y axis by the given angle in degrees. The
+     * head cube's parent chain is only transformed once per stage at init, so this only applies the yaw rotation.
+     */
     public double[] getHeadPosition(GrowthStage stage, float rot) {
-        return this.getParentedCubePosition(this.getHeadCubeName(), stage, rot);
+        double[] position = this.headPositions[stage.ordinal()];
+        if (position == null) {
+            return this.getParentedCubePosition(this.getHeadCubeName(), stage, rot);
+        }
+        float angle = rot / 180.0F * (float) Math.PI;
+        float sin = MathHelper.sin(angle);
+        float cos = MathHelper.cos(angle);
+        return new double[] { epsilon(cos * position[0] + sin * position[2]), epsilon(position[1]), epsilon(cos * position[2] - sin * position[0]) };
+    }
+
+    private double[] computeHeadPosition(GrowthStage stage) {
+        TabulaModelContainer model = this.getModelContainer(stage);
+        TabulaCubeContainer cube = model != null && this.getHeadCubeName() != null ? TabulaModelHelper.getCubeByName(this.getHeadCubeName(), model) : null;
+
+        if (cube != null) {
+            Matrix4d matrix = getParentRotationMatrix(model, cube, true, false, 0.0F);
+            return new double[] { matrix.m03, matrix.m13, matrix.m23 };
+        }
+
+        return new double[] { 0.0, 0.0, 0.0 };
     }
 
     public TabulaModelContainer getModelContainer(GrowthStage stage) {
@@ -788,6 +832,60 @@ public abstract class Dinosaur implements Comparable<Dinosaur> {
     public void applyMeatEffect(EntityPlayer player, boolean cooked) {
     }
 
+    /**
+     * Gives every dinosaur class the first bits of the predation matrix. Other entity classes get a bit the first
+     * time they are checked.
+     */
+    public static void initPredation(Collection<Dinosaur> dinosaurs) {
+        for (Dinosaur dinosaur : dinosaurs) {
+            getClassBit(dinosaur.getDinosaurClass());
+        }
+    }
+
+    private static int getClassBit(Class<?> clazz) {
+        return CLASS_BITS.computeIfAbsent(clazz, key -> NEXT_CLASS_BIT.getAndIncrement());
+    }
+
+    /**
+     * Adds attack targets declared by this dinosaur's entity, resetting any prey checks made so far.
+     */
+    public synchronized void addTargets(Collection<Class<? extends EntityLivingBase>> targets) {
+        if (this.targets.addAll(targets)) {
+            this.prey.clear();
+            this.resolvedPrey.clear();
+        }
+    }
+
+    /**
+     * Returns whether entities of the given class are targeted by this dinosaur. The result is cached per class.
+     */
+    public synchronized boolean isPrey(Class<?> clazz) {
+        int bit = getClassBit(clazz);
+        if (!this.resolvedPrey.get(bit)) {
+            for (Class<? extends EntityLivingBase> target : this.targets) {
+                if (target.isAssignableFrom(clazz)) {
+                    this.prey.set(bit);
+                    break;
+                }
+            }
+            this.resolvedPrey.set(bit);
+        }
+        return this.prey.get(bit);
+    }
+
+    /**
+     * Returns this dinosaur's row of the predation matrix, with a bit set for the id of every species it targets.
+     */
+    public BitSet getPreySpecies(Map<Integer, Dinosaur> dinosaurs) {
+        BitSet species = new BitSet();
+        for (Map.Entry<Integer, Dinosaur> entry : dinosaurs.entrySet()) {
+            if (this.isPrey(entry.getValue().getDinosaurClass())) {
+                species.set(entry.getKey());
+            }
+        }
+        return species;
+    }
+
     public enum DinosaurType {
         AGGRESSIVE,
         NEUTRAL,
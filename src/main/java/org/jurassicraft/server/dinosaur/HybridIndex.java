@@ -0,0 +1,73 @@
+package org.jurassicraft.server.dinosaur;
+
+import org.jurassicraft.server.api.Hybrid;
+import org.jurassicraft.server.entity.EntityHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hybrid recipes keyed by the sorted ids of their parent species, built once all dinosaurs are registered. A parent
+ * class of a hybrid matches every registered dinosaur that is an instance of it, and when several hybrids share the
+ * same parents the one registered first wins.
+ */
+public class HybridIndex {
+    private static final Map<List<Integer>, Dinosaur> HYBRIDS = new HashMap<>();
+
+    public static void init(Collection<Dinosaur> dinosaurs) {
+        HYBRIDS.clear();
+        for (Dinosaur dinosaur : dinosaurs) {
+            if (dinosaur instanceof Hybrid && dinosaur.shouldRegister()) {
+                Class[] parents = ((Hybrid) dinosaur).getDinosaurs();
+                int[][] candidates = new int[parents.length][];
+                for (int i = 0; i < parents.length; i++) {
+                    candidates[i] = getInstances(parents[i], dinosaurs);
+                }
+                add(dinosaur, candidates, new int[parents.length], 0);
+            }
+        }
+    }
+
+    private static int[] getInstances(Class<?> clazz, Collection<Dinosaur> dinosaurs) {
+        return dinosaurs.stream().filter(clazz::isInstance).mapToInt(EntityHandler::getDinosaurId).toArray();
+    }
+
+    private static void add(Dinosaur hybrid, int[][] candidates, int[] parents, int index) {
+        if (index == parents.length) {
+            HYBRIDS.putIfAbsent(getKey(parents.clone()), hybrid);
+            return;
+        }
+        for (int id : candidates[index]) {
+            parents[index] = id;
+            add(hybrid, candidates, parents, index + 1);
+        }
+    }
+
+    /**
+     * Returns the hybrid made from exactly the given parents, in any order, or null if there is none. Null parents
+     * are ignored.
+     */
+    public static Dinosaur get(Dinosaur... parents) {
+        int[] ids = new int[parents.length];
+        int count = 0;
+        for (Dinosaur parent : parents) {
+            if (parent != null) {
+                ids[count++] = EntityHandler.getDinosaurId(parent);
+            }
+        }
+        return count > 0 ? HYBRIDS.get(getKey(Arrays.copyOf(ids, count))) : null;
+    }
+
+    private static List<Integer> getKey(int[] ids) {
+        Arrays.sort(ids);
+        List<Integer> key = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            key.add(id);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,51 @@
+package org.jurassicraft.server.entity;
+
+/**
+ * How often a dinosaur runs its AI, chosen from the distance to the closest player. Intervals divide 40, so timers
+ * checked on multiples of 40 ticks still line up when compensated updates only run every interval.
+ */
+public enum AITier {
+    FULL(1, 3, 10, 1),
+    REDUCED(4, 6, 20, 1),
+    DISTANT(20, 20, 100, 5);
+
+    private final int interval;
+    private final int goalTickRate;
+    private final int relationshipInterval;
+    private final int growthSteps;
+
+    AITier(int interval, int goalTickRate, int relationshipInterval, int growthSteps) {
+        this.interval = interval;
+        this.goalTickRate = goalTickRate;
+        this.relationshipInterval = relationshipInterval;
+        this.growthSteps = growthSteps;
+    }
+
+    /**
+     * Ticks between animation task and metabolism updates.
+     */
+    public int getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Ticks between goal selections of the entity's task and target selectors.
+     */
+    public int getGoalTickRate() {
+        return this.goalTickRate;
+    }
+
+    /**
+     * Ticks between relationship and family updates. Slower tiers apply several updates at once.
+     */
+    public int getRelationshipInterval() {
+        return this.relationshipInterval;
+    }
+
+    /**
+     * Growth steps applied at once, every 8 ticks per step.
+     */
+    public int getGrowthSteps() {
+        return this.growthSteps;
+    }
+}
@@ -32,6 +32,19 @@ public class Diet {
         return this.modules;
     }
 
+    /**
+     * Returns a bitmask of the {@link FoodType} ordinals the entity can currently eat.
+     */
+    public int getFoodTypeMask(DinosaurEntity entity) {
+        int mask = 0;
+        for (DietModule module : this.modules) {
+            if (module.applies(entity)) {
+                mask |= 1 << module.getFoodType().ordinal();
+            }
+        }
+        return mask;
+    }
+
     public boolean canEat(DinosaurEntity entity, FoodType foodType) {
         for (DietModule module : this.modules) {
             if (module.applies(entity) && module.getFoodType() == foodType) {
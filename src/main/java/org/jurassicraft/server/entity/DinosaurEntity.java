@@ -1,5 +1,6 @@
 package org.jurassicraft.server.entity;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 import io.netty.buffer.ByteBuf;
 import mcp.MethodsReturnNonnullByDefault;
@@ -7,12 +8,10 @@ import net.ilexiconn.llibrary.client.model.tools.ChainBuffer;
 import net.ilexiconn.llibrary.server.animation.Animation;
 import net.ilexiconn.llibrary.server.animation.AnimationHandler;
 import net.minecraft.block.material.Material;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityBodyHelper;
 import net.minecraft.entity.EntityCreature;
-import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IEntityLivingData;
@@ -37,7 +36,6 @@ import net.minecraft.network.datasync.DataSerializers;
 import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.pathfinding.Path;
 import net.minecraft.potion.PotionEffect;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.SoundEvent;
@@ -50,8 +48,10 @@ import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fml.common.registry.IEntityAdditionalSpawnData;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.apache.logging.log4j.LogManager;
@@ -61,7 +61,6 @@ import org.jurassicraft.client.model.animation.EntityAnimation;
 import org.jurassicraft.client.model.animation.PoseHandler;
 import org.jurassicraft.server.api.Animatable;
 import org.jurassicraft.server.block.entity.FeederBlockEntity;
-import org.jurassicraft.server.block.machine.FeederBlock;
 import org.jurassicraft.server.conf.JurassiCraftConfig;
 import org.jurassicraft.server.damage.DinosaurDamageSource;
 import org.jurassicraft.server.dinosaur.Dinosaur;
@@ -79,7 +78,7 @@ import org.jurassicraft.server.entity.ai.FollowOwnerEntityAI;
 import org.jurassicraft.server.entity.ai.Herd;
 import org.jurassicraft.server.entity.ai.MateEntityAI;
 import org.jurassicraft.server.entity.ai.ProtectInfantEntityAI;
-import org.jurassicraft.server.entity.ai.Relationship;
+import org.jurassicraft.server.entity.ai.RelationshipTable;
 import org.jurassicraft.server.entity.ai.RespondToAttackEntityAI;
 import org.jurassicraft.server.entity.ai.SelectTargetEntityAI;
 import org.jurassicraft.server.entity.ai.SleepEntityAI;
@@ -97,27 +96,29 @@ import org.jurassicraft.server.entity.ai.metabolism.GrazeEntityAI;
 import org.jurassicraft.server.entity.ai.navigation.DinosaurJumpHelper;
 import org.jurassicraft.server.entity.ai.navigation.DinosaurMoveHelper;
 import org.jurassicraft.server.entity.ai.navigation.DinosaurPathNavigate;
-import org.jurassicraft.server.entity.ai.util.OnionTraverser;
+import org.jurassicraft.server.entity.ai.util.Neighborhood;
 import org.jurassicraft.server.entity.item.DinosaurEggEntity;
 import org.jurassicraft.server.food.FoodHelper;
 import org.jurassicraft.server.food.FoodType;
 import org.jurassicraft.server.genetics.GeneticsHelper;
+import org.jurassicraft.server.genetics.Genome;
 import org.jurassicraft.server.item.ItemHandler;
 import org.jurassicraft.server.message.BiPacketOrder;
 import org.jurassicraft.server.message.SetOrderMessage;
 import org.jurassicraft.server.util.GameRuleHandler;
 import org.jurassicraft.server.util.LangUtils;
+import org.jurassicraft.server.world.DormantIndex;
+import org.jurassicraft.server.world.FeederIndex;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.vecmath.Vector3f;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Random;
-import java.util.Set;
 import java.util.UUID;
 
 @ParametersAreNonnullByDefault
@@ -129,12 +130,26 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     private static final DataParameter<Integer> WATCHER_AGE = EntityDataManager.createKey(DinosaurEntity.class, DataSerializers.VARINT);
     private static final DataParameter<Boolean> WATCHER_IS_SLEEPING = EntityDataManager.createKey(DinosaurEntity.class, DataSerializers.BOOLEAN);
     private static final DataParameter<Boolean> WATCHER_HAS_TRACKER = EntityDataManager.createKey(DinosaurEntity.class, DataSerializers.BOOLEAN);
-    private static final DataParameter<String> WATCHER_OWNER = EntityDataManager.createKey(DinosaurEntity.class, DataSerializers.STRING);
+    private static final DataParameter<Optional<UUID>> WATCHER_OWNER = EntityDataManager.createKey(DinosaurEntity.class, DataSerializers.OPTIONAL_UNIQUE_ID);
     private static final DataParameter<Byte> WATCHER_CURRENT_ORDER = EntityDataManager.createKey(DinosaurEntity.class, DataSerializers.BYTE);
     private static final DataParameter<Boolean> WATCHER_IS_RUNNING = EntityDataManager.createKey(DinosaurEntity.class, DataSerializers.BOOLEAN);
 
+    private static final int AGE_SYNC_STEPS = 500;
+    private static final int WAKE_CHECK_INTERVAL = 100;
+
+    private static Field taskTickRate;
+    private static boolean taskTickRateFailed;
+
     private final InventoryDinosaur inventory;
     private final MetabolismContainer metabolism;
+    private final Neighborhood neighborhood = new Neighborhood(this);
+    private AITier aiTier = AITier.FULL;
+    private int lastMetabolismTick = -1;
+    private int lastRelationshipTick = -1;
+
+    private boolean dormant;
+    private boolean wakeCheck;
+    private boolean dormantPredators;
     protected Dinosaur dinosaur;
     protected int dinosaurAge;
     protected int prevAge;
@@ -143,7 +158,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     private int growthSpeedOffset;
     private boolean isCarcass;
     private int carcassHealth;
-    private String genetics;
+    private Genome genetics;
     private int geneticsQuality;
     private boolean isMale;
     private boolean hasTracker;
@@ -165,7 +180,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
 
     public Herd herd;
     public Family family;
-    public Set<Relationship> relationships = new HashSet<>();
+    public final RelationshipTable relationships = new RelationshipTable();
 
     public int wireTicks;
     public int disableHerdingTicks;
@@ -188,7 +203,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     private int breedCooldown;
 
     private DinosaurEntity breeding;
-    private Set<DinosaurEntity> children = new HashSet<>();
+    private List<Offspring> children = new ArrayList<>();
     private int pregnantTime;
     private int jumpHeight;
 
@@ -312,23 +327,25 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
             return false;
         }
         SleepTime sleepTime = this.getDinosaur().getSleepTime();
-        return sleepTime.shouldSleep() && this.getDinosaurTime() > sleepTime.getAwakeTime() && !this.hasPredators() && (this.herd == null || this.herd.enemies.isEmpty());
+        return sleepTime.shouldSleep() && this.getDinosaurTime() > sleepTime.getAwakeTime() && !this.hasNearbyPredators() && (this.herd == null || this.herd.enemies.isEmpty());
+    }
+
+    /**
+     * Dormant dinosaurs answer from their last predator check instead of searching every time.
+     */
+    private boolean hasNearbyPredators() {
+        return this.dormant ? this.dormantPredators : this.hasPredators();
     }
 
     private boolean hasPredators() {
-        for (EntityLiving predator : this.world.getEntitiesWithinAABB(EntityLiving.class, new AxisAlignedBB(this.posX - 10F, this.posY - 5F, this.posZ - 10F, this.posX + 10F, this.posY + 5F, this.posZ + 10F), e -> e != DinosaurEntity.this)) {
+        for (EntityLiving predator : this.neighborhood.getEntities(EntityLiving.class, new AxisAlignedBB(this.posX - 10F, this.posY - 5F, this.posZ - 10F, this.posX + 10F, this.posY + 5F, this.posZ + 10F), e -> e != DinosaurEntity.this)) {
             boolean hasDinosaurPredator = false;
 
             if (predator instanceof DinosaurEntity) {
                 DinosaurEntity dinosaur = (DinosaurEntity) predator;
 
                 if (!dinosaur.isCarcass() || dinosaur.isSleeping) {
-                    for (Class<? extends EntityLivingBase> target : dinosaur.getAttackTargets()) {
-                        if (target.isAssignableFrom(this.getClass())) {
-                            hasDinosaurPredator = true;
-                            break;
-                        }
-                    }
+                    hasDinosaurPredator = dinosaur.getDinosaur().isPrey(this.getClass());
                 }
             }
 
@@ -360,6 +377,9 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     @SuppressWarnings("unused")
     public void setHasTracker(boolean hasTracker) {
         this.hasTracker = hasTracker;
+        if (!this.world.isRemote) {
+            this.dataManager.set(WATCHER_HAS_TRACKER, this.hasTracker);
+        }
     }
 
     public UUID getOwner() {
@@ -369,7 +389,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     public void setOwner(EntityPlayer player) {
         if (this.dinosaur.isImprintable()) {
             UUID prevOwner = this.owner;
-            this.owner = player.getUniqueID();
+            this.setOwnerId(player.getUniqueID());
 
             if (!this.owner.equals(prevOwner)) {
                 player.sendMessage(new TextComponentString(LangUtils.translate(LangUtils.TAME).replace("{dinosaur}", LangUtils.getDinoName(this.dinosaur))));
@@ -377,6 +397,13 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         }
     }
 
+    private void setOwnerId(UUID owner) {
+        this.owner = owner;
+        if (!this.world.isRemote) {
+            this.dataManager.set(WATCHER_OWNER, Optional.fromNullable(owner));
+        }
+    }
+
     @Override
     public boolean attackEntityAsMob(Entity entity) {
         if (entity instanceof DinosaurEntity && ((DinosaurEntity) entity).isCarcass()) {
@@ -425,7 +452,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                 }
 
                 if (attacker instanceof DinosaurEntity) {
-                    this.getRelationship(attacker, true).onAttacked(amount);
+                    this.relationships.onAttacked(this, attacker.getUniqueID(), amount);
                 }
 
                 return super.attackEntityFrom(damageSource, amount);
@@ -437,6 +464,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
 
                 if (!this.world.isRemote) {
                     this.setAnimation(EntityAnimation.INJURED.get());
+                    this.requestWakeCheck();
                 }
 
                 if (this.shouldSleep()) {
@@ -475,20 +503,6 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         return false;
     }
 
-    private Relationship getRelationship(Entity entity, boolean create) {
-        for (Relationship relationship : this.relationships) {
-            if (relationship.getUUID().equals(entity.getUniqueID())) {
-                return relationship;
-            }
-        }
-        if (create) {
-            Relationship relationship = new Relationship(entity.getUniqueID(), (short) 0);
-            this.relationships.add(relationship);
-            return relationship;
-        }
-        return null;
-    }
-
     private void dropMeat(Entity attacker) {
         int fortune = 0;
 
@@ -591,7 +605,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         this.dataManager.register(WATCHER_AGE, this.dinosaurAge);
         this.dataManager.register(WATCHER_IS_SLEEPING, this.isSleeping);
         this.dataManager.register(WATCHER_HAS_TRACKER, this.hasTracker);
-        this.dataManager.register(WATCHER_OWNER, "");
+        this.dataManager.register(WATCHER_OWNER, Optional.absent());
         this.dataManager.register(WATCHER_CURRENT_ORDER, (byte) 0);
         this.dataManager.register(WATCHER_IS_RUNNING, false);
     }
@@ -674,11 +688,11 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         return (this.isCarcass() || this.isSleeping) ? 0.0F : (2.0F * ((float) this.interpolate(0.2F, 1.0F)));
     }
 
-    public String getGenetics() {
+    public Genome getGenetics() {
         return this.genetics;
     }
 
-    public void setGenetics(String genetics) {
+    public void setGenetics(Genome genetics) {
         this.genetics = genetics;
     }
     
@@ -697,12 +711,16 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     public void onLivingUpdate() {
         super.onLivingUpdate();
 
+        if ((this.ticksExisted + this.getEntityId()) % 20 == 0) {
+            this.updateAITier();
+        }
+
         if (this.breedCooldown > 0) {
             this.breedCooldown--;
         }
         
-        if(!this.world.isRemote && this.dinosaur.getDiet().canEat(this, FoodType.MEAT) && this.getMetabolism().isHungry()) {
-            world.getEntitiesWithinAABB(EntityLivingBase.class, this.getEntityBoundingBox().grow(10, 10, 10), this::canEatEntity).stream().findAny().ifPresent(this::setAttackTarget);
+        if(!this.world.isRemote && !this.dormant && this.dinosaur.getDiet().canEat(this, FoodType.MEAT) && this.getMetabolism().isHungry()) {
+            this.neighborhood.getEntities(EntityLivingBase.class, this.getEntityBoundingBox().grow(10, 10, 10), this::canEatEntity).stream().findAny().ifPresent(this::setAttackTarget);
         }
         
         if (!this.isMale() && !this.world.isRemote) {
@@ -717,7 +735,11 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                 }
             }
             if ((this.getAnimation() == EntityAnimation.LAYING_EGG.get() || this.getAnimation() == EntityAnimation.GIVING_BIRTH.get()) && this.animationTick == this.getAnimationLength() / 2) {
-        	    for (DinosaurEntity child : this.children) {
+        	    for (Offspring offspring : this.children) {
+                    DinosaurEntity child = offspring.create(this.world);
+                    if (child == null) {
+                        continue;
+                    }
                     Entity entity;
                     if (this.dinosaur.givesDirectBirth()) {
                         entity = child;
@@ -731,6 +753,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                     entity.setPosition(this.posX + (this.rand.nextFloat() - 0.5F), this.posY + 0.5F, this.posZ + (this.rand.nextFloat() - 0.5F));
                     this.world.spawnEntity(entity);
                 }
+                this.children.clear();
             }
         }
 
@@ -746,26 +769,11 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                         int minClutch = this.dinosaur.getMinClutch();
                         int maxClutch = this.dinosaur.getMaxClutch();
                         for (int i = 0; i < this.rand.nextInt(maxClutch - minClutch) + minClutch; i++) {
-                            try {
-                                DinosaurEntity child = this.getClass().getConstructor(World.class).newInstance(this.world);
-                                child.setAge(0);
-                                child.setMale(this.rand.nextDouble() > 0.5);
-                                child.setDNAQuality(Math.min(100, this.getDNAQuality() + this.breeding.getDNAQuality()));
-                                DinosaurAttributes attributes = DinosaurAttributes.combine(this, this.getAttributes(), this.breeding.getAttributes());
-                                String genetics = "";
-                                for (int c = 0; c < this.genetics.length(); c++) {
-                                    if (this.rand.nextBoolean()) {
-                                        genetics += this.genetics.charAt(i);
-                                    } else {
-                                        genetics += this.breeding.genetics.charAt(i);
-                                    }
-                                }
-                                child.setGenetics(genetics);
-                                child.setAttributes(attributes);
-                                this.children.add(child);
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
+                            boolean male = this.rand.nextDouble() > 0.5;
+                            int quality = Math.min(100, this.getDNAQuality() + this.breeding.getDNAQuality());
+                            DinosaurAttributes attributes = DinosaurAttributes.combine(this, this.getAttributes(), this.breeding.getAttributes());
+                            Genome genetics = this.genetics.crossover(this.breeding.genetics, this.rand);
+                            this.children.add(new Offspring(this.dinosaur, male, quality, genetics, attributes));
                         }
                         this.pregnantTime = 9600;
                     }
@@ -796,8 +804,8 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
             this.updateGrowth();
 
             if (!this.world.isRemote) {
-                if (this.metabolism.isHungry()) {
-                    List<EntityItem> entitiesWithinAABB = this.world.getEntitiesWithinAABB(EntityItem.class, this.getEntityBoundingBox().expand(1.0, 1.0, 1.0));
+                if (!this.dormant && this.metabolism.isHungry()) {
+                    List<EntityItem> entitiesWithinAABB = this.neighborhood.getEntities(EntityItem.class, this.getEntityBoundingBox().expand(1.0, 1.0, 1.0));
                     for (EntityItem itemEntity : entitiesWithinAABB) {
                         Item item = itemEntity.getItem().getItem();
                         if (FoodHelper.isEdible(this, this.dinosaur.getDiet(), item)) {
@@ -818,7 +826,11 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                     }
                 }
 
-                this.metabolism.update();
+                if (this.ticksExisted % this.aiTier.getInterval() == 0) {
+                    int ticks = this.lastMetabolismTick >= 0 ? MathHelper.clamp(this.ticksExisted - this.lastMetabolismTick, 1, 40) : 1;
+                    this.metabolism.update(ticks);
+                    this.lastMetabolismTick = this.ticksExisted;
+                }
             }
 
             if (this.ticksExisted % 62 == 0) {
@@ -872,28 +884,20 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                     this.herd.update();
                 }
 
-                if (this.ticksExisted % 10 == 0) {
+                if (this.ticksExisted % this.aiTier.getRelationshipInterval() == 0) {
+                    int relationshipInterval = AITier.FULL.getRelationshipInterval();
+                    int steps = this.lastRelationshipTick >= 0 ? MathHelper.clamp((this.ticksExisted - this.lastRelationshipTick) / relationshipInterval, 1, AITier.DISTANT.getRelationshipInterval() / relationshipInterval) : 1;
+                    this.lastRelationshipTick = this.ticksExisted;
                     if (this.family != null && (this.family.getHead() == null || this.family.getHead().equals(this.getUniqueID()))) {
-                        if (this.family.update(this)) {
+                        if (this.family.update(this, steps)) {
                             this.family = null;
                         }
                     } else if (this.family == null && this.getAttackTarget() == null) {
-                        if (this.relationships.size() > 0 && this.rand.nextDouble() > 0.9) {
-                            DinosaurEntity chosen = null;
-                            Relationship chosenRelationship = null;
-                            for (Relationship relationship : this.relationships) {
-                                if (relationship.getScore() > Relationship.MAX_SCORE * 0.9) {
-                                    DinosaurEntity entity = relationship.get(this);
-                                    if (entity != null && this.isMale != entity.isMale) {
-                                        chosen = entity;
-                                        chosenRelationship = relationship;
-                                        break;
-                                    }
-                                }
-                            }
+                        if (!this.relationships.isEmpty() && this.rand.nextDouble() > Math.pow(0.9, steps)) {
+                            DinosaurEntity chosen = this.relationships.findMate(this);
                             if (chosen != null) {
                                 this.family = new Family(this.getUniqueID(), chosen.getUniqueID());
-                                chosenRelationship.setFamily();
+                                this.relationships.setFamily(this, chosen.getUniqueID());
                                 this.breedCooldown = this.rand.nextInt(1000) + 1000;
                                 chosen.breedCooldown = this.breedCooldown;
                             }
@@ -902,28 +906,16 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                     if (this.herd != null) {
                         for (DinosaurEntity herdMember : this.herd.members) {
                             if (herdMember != this) {
-                                Relationship relationship = this.getRelationship(herdMember, true);
-                                relationship.updateHerd(this);
+                                this.relationships.updateHerd(this, herdMember, steps);
                             }
                         }
                         for (EntityLivingBase enemy : this.herd.enemies) {
                             if (enemy instanceof DinosaurEntity) {
-                                Relationship relationship = new Relationship(enemy.getUniqueID(), (short) -30);
-                                if (!this.relationships.contains(relationship)) {
-                                    this.relationships.add(relationship);
-                                }
-                            }
-                        }
-                    }
-                    if (this.relationships.size() > 0) {
-                        Set<Relationship> removal = new HashSet<>();
-                        for (Relationship relationship : this.relationships) {
-                            if (relationship.update(this)) {
-                                removal.add(relationship);
+                                this.relationships.addEnemy(this, enemy.getUniqueID());
                             }
                         }
-                        this.relationships.removeAll(removal);
                     }
+                    this.relationships.update(this);
                 }
 
                 if (!this.getNavigator().noPath()) {
@@ -941,22 +933,112 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     }
 
     private void updateGrowth() {
-        if (!this.isDead && this.ticksExisted % 8 == 0 && !this.world.isRemote) {
-            if (GameRuleHandler.DINO_GROWTH.getBoolean(this.world)) {
-                this.dinosaurAge += Math.min(this.growthSpeedOffset, 960) + 1;
-                this.metabolism.decreaseEnergy((int) ((Math.min(this.growthSpeedOffset, 960) + 1) * 0.1));
-            }
+        int steps = this.aiTier.getGrowthSteps();
+        if (!this.isDead && this.ticksExisted % (8 * steps) == 0 && !this.world.isRemote) {
+            for (int step = 0; step < steps; step++) {
+                if (GameRuleHandler.DINO_GROWTH.getBoolean(this.world)) {
+                    this.dinosaurAge += Math.min(this.growthSpeedOffset, 960) + 1;
+                    this.metabolism.decreaseEnergy((int) ((Math.min(this.growthSpeedOffset, 960) + 1) * 0.1));
+                }
 
-            if (this.growthSpeedOffset > 0) {
-                this.growthSpeedOffset -= 10;
+                if (this.growthSpeedOffset > 0) {
+                    this.growthSpeedOffset -= 10;
 
-                if (this.growthSpeedOffset < 0) {
-                    this.growthSpeedOffset = 0;
+                    if (this.growthSpeedOffset < 0) {
+                        this.growthSpeedOffset = 0;
+                    }
                 }
             }
+            this.syncAge();
+        }
+    }
+
+    /**
+     * Picks the AI tier from the distance to the closest player. Dinosaurs that are fighting, fleeing or ridden
+     * always run full AI.
+     */
+    private void updateAITier() {
+        AITier tier = AITier.FULL;
+        if (this.dormant) {
+            tier = AITier.DISTANT;
+        } else if (JurassiCraftConfig.ENTITIES.aiLevelOfDetail && this.getAttackTarget() == null && this.getRevengeTarget() == null && !this.isBeingRidden() && (this.herd == null || !this.herd.fleeing)) {
+            EntityPlayer player = this.world.getClosestPlayerToEntity(this, -1.0);
+            double distance = player != null ? player.getDistanceSq(this) : Double.MAX_VALUE;
+            double nearDistance = JurassiCraftConfig.ENTITIES.aiNearDistance;
+            double farDistance = JurassiCraftConfig.ENTITIES.aiFarDistance;
+            if (distance > farDistance * farDistance && !this.isTracked()) {
+                tier = AITier.DISTANT;
+            } else if (distance > nearDistance * nearDistance) {
+                tier = AITier.REDUCED;
+            }
+        }
+        if (tier != this.aiTier) {
+            this.aiTier = tier;
+            if (!this.world.isRemote) {
+                this.setGoalTickRate(tier.getGoalTickRate());
+            }
         }
     }
 
+    private boolean isTracked() {
+        return this.world instanceof WorldServer && !((WorldServer) this.world).getEntityTracker().getTrackingPlayers(this).isEmpty();
+    }
+
+    private void setGoalTickRate(int tickRate) {
+        if (taskTickRate == null && !taskTickRateFailed) {
+            try {
+                taskTickRate = ReflectionHelper.findField(EntityAITasks.class, "tickRate", "field_75779_e");
+            } catch (ReflectionHelper.UnableToFindFieldException e) {
+                JurassiCraft.getLogger().warn("Unable to access AI task tick rate, goal selection will not be reduced for distant dinosaurs", e);
+                taskTickRateFailed = true;
+            }
+        }
+        if (taskTickRate != null) {
+            try {
+                taskTickRate.setInt(this.tasks, tickRate);
+                taskTickRate.setInt(this.targetTasks, tickRate);
+            } catch (IllegalAccessException e) {
+                taskTickRateFailed = true;
+                taskTickRate = null;
+            }
+        }
+    }
+
+    public AITier getAITier() {
+        return this.aiTier;
+    }
+
+    /**
+     * Puts sleeping and sitting dinosaurs into dormancy, where they run at the lowest AI tier and only look for
+     * predators when something enters a chunk next to them, when they are hurt, or every
+     * {@link #WAKE_CHECK_INTERVAL} ticks.
+     */
+    private void updateDormancy() {
+        boolean dormant = JurassiCraftConfig.ENTITIES.dormantDinosaurs && !this.isCarcass && (this.isSleeping || this.order == Order.SIT) && this.getAttackTarget() == null;
+        if (dormant != this.dormant) {
+            this.dormant = dormant;
+            if (dormant) {
+                DormantIndex.get(this.world).add(this);
+                this.wakeCheck = true;
+            } else {
+                DormantIndex.get(this.world).remove(this);
+            }
+            this.updateAITier();
+        }
+        if (dormant && (this.wakeCheck || (this.ticksExisted + this.getEntityId()) % WAKE_CHECK_INTERVAL == 0)) {
+            this.wakeCheck = false;
+            this.dormantPredators = this.hasPredators();
+        }
+    }
+
+    public void requestWakeCheck() {
+        this.wakeCheck = true;
+    }
+
+    public boolean isDormant() {
+        return this.dormant;
+    }
+
     @Override
     public void onUpdate() {
         super.onUpdate();
@@ -1000,29 +1082,15 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
             }
         }
 
-        if (!this.world.isRemote) {
-            this.dataManager.set(WATCHER_AGE, this.dinosaurAge);
-            this.dataManager.set(WATCHER_IS_SLEEPING, this.isSleeping);
-            this.dataManager.set(WATCHER_IS_CARCASS, this.isCarcass);
-            this.dataManager.set(WATCHER_HAS_TRACKER, this.hasTracker);
-            this.dataManager.set(WATCHER_CURRENT_ORDER, (byte) this.order.ordinal());
-            this.dataManager.set(WATCHER_OWNER, this.owner != null ? this.owner.toString() : "");
-            this.dataManager.set(WATCHER_IS_RUNNING, this.getAIMoveSpeed() > this.getEntityAttribute(SharedMonsterAttributes.MOVEMENT_SPEED).getAttributeValue());
-        } else {
+        if (this.world.isRemote) {
             this.updateTailBuffer();
 
             this.dinosaurAge = this.dataManager.get(WATCHER_AGE);
             this.isSleeping = this.dataManager.get(WATCHER_IS_SLEEPING);
             this.isCarcass = this.dataManager.get(WATCHER_IS_CARCASS);
             this.hasTracker = this.dataManager.get(WATCHER_HAS_TRACKER);
-            String owner = this.dataManager.get(WATCHER_OWNER);
             this.order = Order.values()[this.dataManager.get(WATCHER_CURRENT_ORDER)];
-
-            if (owner.length() > 0 && (this.owner == null || !owner.equals(this.owner.toString()))) {
-                this.owner = UUID.fromString(owner);
-            } else if (owner.length() == 0) {
-                this.owner = null;
-            }
+            this.owner = this.dataManager.get(WATCHER_OWNER).orNull();
         }
 
         if (this.ticksExisted % 20 == 0) {
@@ -1044,6 +1112,8 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         }
 
         if (!this.world.isRemote) {
+            this.updateDormancy();
+
             if (this.isCarcass) {
                 if (this.getAnimation() != EntityAnimation.DYING.get()) {
                     this.setAnimation(EntityAnimation.DYING.get());
@@ -1054,14 +1124,12 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
                 }
             } else {
                 if (this.isSleeping) {
-                    if (this.ticksExisted % 20 == 0) {
-                        if (this.stayAwakeTime <= 0 && this.hasPredators()) {
-                            this.disturbSleep();
-                        }
+                    if (this.stayAwakeTime <= 0 && (this.dormant ? this.dormantPredators : this.ticksExisted % 20 == 0 && this.hasPredators())) {
+                        this.disturbSleep();
                     }
 
                     if (!this.shouldSleep() && !this.world.isRemote && tranquilizerTicks-- <= 0) {
-                        this.isSleeping = false;
+                        this.setSleeping(false);
                         this.tranquilizerTicks = 0;
                     }
                 } else if (this.getAnimation() == EntityAnimation.SLEEPING.get()) {
@@ -1084,7 +1152,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
             this.stayAwakeTime = 0;
         }
 
-        if (this.isServerWorld()) {
+        if (this.isServerWorld() && this.ticksExisted % this.aiTier.getInterval() == 0) {
             this.animationTasks.onUpdateTasks();
         }
 
@@ -1098,7 +1166,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
             this.disableHerdingTicks--;
         }
 
-        if (this.legSolver != null) {
+        if (this.legSolver != null && this.aiTier != AITier.DISTANT) {
             double msc = this.dinosaur.getScaleInfant() / this.dinosaur.getScaleAdult();
             this.legSolver.update(this, (float) this.interpolate(msc, 1.0) * this.getAttributes().getScaleModifier());
         }
@@ -1151,6 +1219,19 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         }
     }
 
+    /**
+     * Sends the age to clients once it has grown by a step they can see: {@link #AGE_SYNC_STEPS} steps from hatching
+     * to adult, plus the moment it becomes fully grown.
+     */
+    private void syncAge() {
+        int maxAge = this.dinosaur.getMaximumAge();
+        int synced = this.dataManager.get(WATCHER_AGE);
+        int step = Math.max(1, maxAge / AGE_SYNC_STEPS);
+        if (this.dinosaurAge / step != synced / step || (this.dinosaurAge >= maxAge) != (synced >= maxAge)) {
+            this.dataManager.set(WATCHER_AGE, this.dinosaurAge);
+        }
+    }
+
     @Override
     public float getEyeHeight() {
         return (float) this.interpolate(this.dinosaur.getBabyEyeHeight(), this.dinosaur.getAdultEyeHeight()) * this.attributes.getScaleModifier();
@@ -1169,7 +1250,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         NBTTagCompound nbt = new NBTTagCompound();
         nbt.setInteger("DNAQuality", this.geneticsQuality);
         nbt.setInteger("Dinosaur", EntityHandler.getDinosaurId(this.dinosaur));
-        nbt.setString("Genetics", this.genetics);
+        this.genetics.writeToNBT(nbt);
         stack.setTagCompound(nbt);
 
         this.entityDropItem(stack, 0.0F);
@@ -1419,7 +1500,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         nbt.setInteger("DinosaurAge", this.dinosaurAge);
         nbt.setBoolean("IsCarcass", this.isCarcass);
         nbt.setInteger("DNAQuality", this.geneticsQuality);
-        nbt.setString("Genetics", this.genetics);
+        this.genetics.writeToNBT(nbt);
         nbt.setBoolean("IsMale", this.isMale);
         nbt.setInteger("GrowthSpeedOffset", this.growthSpeedOffset);
         nbt.setInteger("StayAwakeTime", this.stayAwakeTime);
@@ -1443,15 +1524,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
             nbt.setTag("Family", familyTag);
         }
 
-        NBTTagList relationshipList = new NBTTagList();
-
-        for (Relationship relationship : this.relationships) {
-            NBTTagCompound compound = new NBTTagCompound();
-            relationship.writeToNBT(compound);
-            relationshipList.appendTag(compound);
-        }
-
-        nbt.setTag("Relationships", relationshipList);
+        this.relationships.writeToNBT(nbt);
 
         NBTTagCompound attributes = new NBTTagCompound();
         this.attributes.writeToNBT(attributes);
@@ -1459,10 +1532,8 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
 
         if (this.children.size() > 0) {
             NBTTagList children = new NBTTagList();
-            for (DinosaurEntity child : this.children) {
-                if (child != null) {
-                    children.appendTag(child.writeToNBT(new NBTTagCompound()));
-                }
+            for (Offspring offspring : this.children) {
+                children.appendTag(offspring.writeToNBT(new NBTTagCompound()));
             }
             nbt.setTag("Children", children);
         }
@@ -1480,13 +1551,13 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         this.setAge(nbt.getInteger("DinosaurAge"));
         this.setCarcass(nbt.getBoolean("IsCarcass"));
         this.geneticsQuality = nbt.getInteger("DNAQuality");
-        this.genetics = nbt.getString("Genetics");
+        this.genetics = Genome.from(nbt);
         this.isMale = nbt.getBoolean("IsMale");
         this.growthSpeedOffset = nbt.getInteger("GrowthSpeedOffset");
         this.stayAwakeTime = nbt.getInteger("StayAwakeTime");
         this.setSleeping(nbt.getBoolean("IsSleeping"));
         this.carcassHealth = nbt.getInteger("CarcassHealth");
-        this.order = Order.values()[nbt.getByte("Order")];
+        this.setFieldOrder(Order.values()[nbt.getByte("Order")]);
         this.breedCooldown = nbt.getInteger("BreedCooldown");
         this.pregnantTime = nbt.getInteger("PregnantTime");
 
@@ -1495,7 +1566,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         String ownerUUID = nbt.getString("OwnerUUID");
 
         if (ownerUUID.length() > 0) {
-            this.owner = UUID.fromString(ownerUUID);
+            this.setOwnerId(UUID.fromString(ownerUUID));
         }
 
         if (nbt.hasKey("Family")) {
@@ -1505,12 +1576,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
 
         this.inventory.readFromNBT(nbt);
 
-        NBTTagList relationships = nbt.getTagList("Relationships", Constants.NBT.TAG_COMPOUND);
-
-        for (int i = 0; i < relationships.tagCount(); i++) {
-            NBTTagCompound compound = relationships.getCompoundTagAt(i);
-            this.relationships.add(Relationship.readFromNBT(compound));
-        }
+        this.relationships.readFromNBT(nbt, this.ticksExisted);
 
         if (nbt.hasKey("GeneticAttributes")) {
             NBTTagCompound attributes = nbt.getCompoundTag("GeneticAttributes");
@@ -1520,11 +1586,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         if (nbt.hasKey("Children")) {
             NBTTagList children = nbt.getTagList("Children", Constants.NBT.TAG_COMPOUND);
             for (int i = 0; i < children.tagCount(); i++) {
-                NBTTagCompound childTag = children.getCompoundTagAt(i);
-                Entity entity = EntityList.createEntityFromNBT(childTag, this.world);
-                if (entity instanceof DinosaurEntity) {
-                    this.children.add((DinosaurEntity) entity);
-                }
+                this.children.add(Offspring.from(children.getCompoundTagAt(i), this.dinosaur));
             }
         }
         
@@ -1542,6 +1604,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         buffer.writeInt(this.dinosaurAge);
         buffer.writeBoolean(this.isCarcass);
         buffer.writeInt(this.geneticsQuality);
+        this.genetics.write(buffer);
         buffer.writeBoolean(this.isMale);
         buffer.writeInt(this.growthSpeedOffset);
         this.attributes.write(buffer);
@@ -1552,6 +1615,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         this.dinosaurAge = additionalData.readInt();
         this.isCarcass = additionalData.readBoolean();
         this.geneticsQuality = additionalData.readInt();
+        this.genetics = Genome.from(additionalData);
         this.isMale = additionalData.readBoolean();
         this.growthSpeedOffset = additionalData.readInt();
         this.attributes = DinosaurAttributes.from(additionalData);
@@ -1568,6 +1632,10 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         return this.metabolism;
     }
 
+    public Neighborhood getNeighborhood() {
+        return this.neighborhood;
+    }
+
     public boolean setSleepLocation(BlockPos sleepLocation, boolean moveTo) {
         return !moveTo || this.getNavigator().tryMoveToXYZ(sleepLocation.getX(), sleepLocation.getY(), sleepLocation.getZ(), 1.0);
     }
@@ -1595,7 +1663,7 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
 
     public void disturbSleep() {
         if(tranquilizerTicks == 0) {
-            this.isSleeping = false;
+            this.setSleeping(false);
             this.stayAwakeTime = 400;
         }
     }
@@ -1769,7 +1837,9 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     public final void target(Class<? extends EntityLivingBase>... targets) {
         this.targetTasks.addTask(1, new SelectTargetEntityAI(this, targets));
 
-        this.attackTargets.addAll(Lists.newArrayList(targets));
+        List<Class<? extends EntityLivingBase>> targetList = Lists.newArrayList(targets);
+        this.attackTargets.addAll(targetList);
+        this.dinosaur.addTargets(targetList);
     }
 
     public EntityAIBase getAttackAI() {
@@ -1840,6 +1910,14 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
         return this.dataManager.get(WATCHER_IS_RUNNING);
     }
 
+    @Override
+    public void setAIMoveSpeed(float speed) {
+        super.setAIMoveSpeed(speed);
+        if (!this.world.isRemote) {
+            this.dataManager.set(WATCHER_IS_RUNNING, speed > this.getEntityAttribute(SharedMonsterAttributes.MOVEMENT_SPEED).getAttributeValue());
+        }
+    }
+
     @Override
     public boolean getCanSpawnHere() {
         return this.dimension == 0;
@@ -1852,20 +1930,10 @@ public abstract class DinosaurEntity extends EntityCreature implements IEntityAd
     public BlockPos getClosestFeeder() {
         if (this.ticksExisted - this.feederSearchTick > 200) {
             this.feederSearchTick = this.ticksExisted;
-            OnionTraverser traverser = new OnionTraverser(this.getPosition(), 32);
-            for (BlockPos pos : traverser) {
-                IBlockState state = this.world.getBlockState(pos);
-                if (state.getBlock() instanceof FeederBlock) {
-                    TileEntity tile = this.world.getTileEntity(pos);
-                    if (tile instanceof FeederBlockEntity) {
-                        FeederBlockEntity feeder = (FeederBlockEntity) tile;
-                        if (feeder.canFeedDinosaur(this) && feeder.getFeeding() == null && feeder.openAnimation == 0) {
-                            Path path = this.getNavigator().getPathToPos(pos);
-                            if (path != null && path.getCurrentPathLength() != 0) {
-                                return this.closestFeeder = pos;
-                            }
-                        }
-                    }
+            for (FeederBlockEntity feeder : FeederIndex.get(this.world).getFeeders(this, 32)) {
+                Path path = this.getNavigator().getPathToPos(feeder.getPos());
+                if (path != null && path.getCurrentPathLength() != 0) {
+                    return this.closestFeeder = feeder.getPos();
                 }
             }
         }
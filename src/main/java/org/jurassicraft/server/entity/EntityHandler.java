@@ -15,6 +15,7 @@ import org.jurassicraft.server.dinosaur.CoelacanthDinosaur;
 import org.jurassicraft.server.dinosaur.DilophosaurusDinosaur;
 import org.jurassicraft.server.dinosaur.Dinosaur;
 import org.jurassicraft.server.dinosaur.GallimimusDinosaur;
+import org.jurassicraft.server.dinosaur.HybridIndex;
 import org.jurassicraft.server.dinosaur.MicroraptorDinosaur;
 import org.jurassicraft.server.dinosaur.MussaurusDinosaur;
 import org.jurassicraft.server.dinosaur.ParasaurolophusDinosaur;
@@ -91,6 +92,9 @@ public class EntityHandler {
 
         ProgressManager.pop(dinosaurProgress);
 
+        Dinosaur.initPredation(DINOSAURS.values());
+        HybridIndex.init(DINOSAURS.values());
+
         registerEntity(AttractionSignEntity.class, "Attraction Sign");
         registerEntity(PaddockSignEntity.class, "Paddock Sign");
         registerEntity(MuralEntity.class, "Mural");
@@ -30,9 +30,16 @@ public class MetabolismContainer {
     }
 
     public void update() {
+        this.update(1);
+    }
+
+    /**
+     * Advances the metabolism by the given number of ticks at once.
+     */
+    public void update(int ticks) {
         if (!this.dinosaur.isDead && !this.dinosaur.isCarcass() && GameRuleHandler.DINO_METABOLISM.getBoolean(this.dinosaur.world)) {
-            this.decreaseEnergy(1);
-            this.decreaseWater(1);
+            this.decreaseEnergy(ticks);
+            this.decreaseWater(ticks);
 
             if (this.dinosaur.isWet()) {
                 if (this.isThirsty()) {
@@ -42,8 +49,9 @@ public class MetabolismContainer {
             }
 
             if (this.digestingFood > 0) {
-                this.increaseEnergy(10);
-                this.digestingFood--;
+                int digested = Math.min(this.digestingFood, ticks);
+                this.increaseEnergy(10 * digested);
+                this.digestingFood -= digested;
             }
         }
     }
@@ -0,0 +1,61 @@
+package org.jurassicraft.server.entity;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import org.jurassicraft.JurassiCraft;
+import org.jurassicraft.server.dinosaur.Dinosaur;
+import org.jurassicraft.server.genetics.Genome;
+
+/**
+ * An unborn child carried by a pregnant dinosaur. The entity is only created when the child is born or its egg is
+ * laid. Uses the same NBT keys as {@link DinosaurEntity}, so children saved as full entities still load.
+ */
+public class Offspring {
+    private final Dinosaur dinosaur;
+    private final boolean male;
+    private final int quality;
+    private final Genome genetics;
+    private final DinosaurAttributes attributes;
+
+    public Offspring(Dinosaur dinosaur, boolean male, int quality, Genome genetics, DinosaurAttributes attributes) {
+        this.dinosaur = dinosaur;
+        this.male = male;
+        this.quality = quality;
+        this.genetics = genetics;
+        this.attributes = attributes;
+    }
+
+    public DinosaurEntity create(World world) {
+        try {
+            DinosaurEntity child = this.dinosaur.getDinosaurClass().getConstructor(World.class).newInstance(world);
+            child.setAge(0);
+            child.setMale(this.male);
+            child.setDNAQuality(this.quality);
+            child.setGenetics(this.genetics);
+            child.setAttributes(this.attributes);
+            return child;
+        } catch (ReflectiveOperationException e) {
+            JurassiCraft.getLogger().warn("Failed to create offspring for " + this.dinosaur, e);
+            return null;
+        }
+    }
+
+    public NBTTagCompound writeToNBT(NBTTagCompound compound) {
+        compound.setInteger("Dinosaur", EntityHandler.getDinosaurId(this.dinosaur));
+        compound.setBoolean("IsMale", this.male);
+        compound.setInteger("DNAQuality", this.quality);
+        this.genetics.writeToNBT(compound);
+        NBTTagCompound attributes = new NBTTagCompound();
+        this.attributes.writeToNBT(attributes);
+        compound.setTag("GeneticAttributes", attributes);
+        return compound;
+    }
+
+    /**
+     * Reads an offspring, taking the species from the parent if the tag does not name one.
+     */
+    public static Offspring from(NBTTagCompound compound, Dinosaur parent) {
+        Dinosaur dinosaur = compound.hasKey("Dinosaur") ? EntityHandler.getDinosaurById(compound.getInteger("Dinosaur")) : parent;
+        return new Offspring(dinosaur, compound.getBoolean("IsMale"), compound.getInteger("DNAQuality"), Genome.from(compound), DinosaurAttributes.from(compound.getCompoundTag("GeneticAttributes")));
+    }
+}
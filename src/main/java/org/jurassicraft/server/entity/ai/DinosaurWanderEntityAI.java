@@ -1,6 +1,7 @@
 package org.jurassicraft.server.entity.ai;
 
 import org.jurassicraft.server.entity.DinosaurEntity;
+import org.jurassicraft.server.world.FenceHazardIndex;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.entity.ai.EntityAIBase;
@@ -44,6 +45,9 @@ public class DinosaurWanderEntityAI extends EntityAIBase
             for(int i = 0; i < 100; i++) {	
         	Vec3d vec = getWanderPosition();
         	if (vec != null) {
+        	    if (FenceHazardIndex.get(this.entity.world).isHazardNear(new BlockPos(vec), 1)) {
+        		continue;
+        	    }
         	    for(BlockPos pos : BlockPos.getAllInBox(new BlockPos(vec.addVector(0, 1, 0)), new BlockPos(vec.addVector(1, 1, 1)))) {
         		if(this.entity.world.getBlockState(pos).getMaterial() != Material.AIR) {
         		    continue overlist;
@@ -66,7 +70,7 @@ public class DinosaurWanderEntityAI extends EntityAIBase
     }
     
     protected boolean outterShouldExecute() {
-	return this.entity.getNavigator().noPath() && this.entity.getAttackTarget() == null;
+	return this.entity.getNavigator().noPath() && this.entity.getAttackTarget() == null && (this.entity.herd == null || !this.entity.herd.isFlowing());
     }
     
     protected Vec3d getWanderPosition() {
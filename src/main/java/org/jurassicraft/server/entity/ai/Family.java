@@ -1,6 +1,5 @@
 package org.jurassicraft.server.entity.ai;
 
-import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.math.BlockPos;
@@ -8,6 +7,7 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
 import org.jurassicraft.server.entity.DinosaurEntity;
 import org.jurassicraft.server.entity.GrowthStage;
+import org.jurassicraft.server.world.DinosaurIndex;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -34,6 +34,14 @@ public class Family {
     }
 
     public boolean update(DinosaurEntity entity) {
+        return this.update(entity, 1);
+    }
+
+    /**
+     * Updates the family for the given number of relationship updates at once, so dinosaurs updating less often
+     * still leave home and breed at the usual rate.
+     */
+    public boolean update(DinosaurEntity entity, int steps) {
         if (this.home == null || entity.getDistanceSqToCenter(this.home) > 4096) {
             this.home = entity.getPosition();
         }
@@ -73,7 +81,7 @@ public class Family {
         centerX /= this.parents.size();
         centerZ /= this.parents.size();
         if (this.stayHome > 0) {
-            this.stayHome--;
+            this.stayHome = Math.max(0, this.stayHome - steps);
             centerX = this.home.getX();
             centerZ = this.home.getZ();
         } else {
@@ -92,7 +100,7 @@ public class Family {
                 }
             }
         }
-        if (entity.getRNG().nextInt(50) == 0 && (entity.getDinosaur().shouldBreedAroundOffspring() || this.children.isEmpty())) {
+        if (entity.getRNG().nextInt(50) < steps && (entity.getDinosaur().shouldBreedAroundOffspring() || this.children.isEmpty())) {
             DinosaurEntity father = null;
             DinosaurEntity mother = null;
             for (DinosaurEntity member : members) {
@@ -119,12 +127,7 @@ public class Family {
     }
 
     private DinosaurEntity get(World world, UUID uuid) {
-        for (Entity entity : world.loadedEntityList) {
-            if (entity instanceof DinosaurEntity && entity.getUniqueID().equals(uuid)) {
-                return (DinosaurEntity) entity;
-            }
-        }
-        return null;
+        return DinosaurIndex.get(world).get(uuid);
     }
 
     public void addChild(UUID child) {
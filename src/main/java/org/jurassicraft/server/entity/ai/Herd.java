@@ -4,10 +4,10 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.pathfinding.PathPoint;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
+import org.jurassicraft.server.conf.JurassiCraftConfig;
 import org.jurassicraft.server.dinosaur.Dinosaur;
 import org.jurassicraft.server.entity.DinosaurEntity;
 import org.jurassicraft.server.util.GameRuleHandler;
@@ -20,6 +20,8 @@ import java.util.Random;
 import java.util.Set;
 
 public class Herd implements Iterable<DinosaurEntity> {
+    private static final int WATER_SOURCE_TIME = 200;
+
     public Set<DinosaurEntity> members = new HashSet<>();
     public DinosaurEntity leader;
 
@@ -39,14 +41,24 @@ public class Herd implements Iterable<DinosaurEntity> {
 
     private Dinosaur herdType;
 
-    private int nextMemberCheck;
     private int failedPathTicks;
 
+    private final HerdSeparation separation = new HerdSeparation();
+    private HerdFlowField flowField;
+    private boolean flowing;
+
+    private BlockPos waterSource;
+    private long waterSourceTime;
+
     public Herd(DinosaurEntity leader) {
         this.herdType = leader.getDinosaur();
         this.members.add(leader);
         this.leader = leader;
         this.resetStateTicks();
+
+        if (!leader.world.isRemote) {
+            HerdManager.get(leader.world).add(this);
+        }
     }
 
     public void update() {
@@ -99,31 +111,33 @@ public class Herd implements Iterable<DinosaurEntity> {
                 this.fleeing = false;
             }
 
-            List<DinosaurEntity> remove = new LinkedList<>();
+            boolean attemptedPath = false;
+            int failedPaths = 0;
 
-            for (DinosaurEntity entity : this) {
-                if (entity.getDistanceSq(this.center.x, this.center.y, this.center.z) > 2048) {
-                    remove.add(entity);
-                }
+            boolean steering = this.enemies.isEmpty() || this.fleeing;
+            if (steering) {
+                int interval = this.members.size() >= JurassiCraftConfig.ENTITIES.herdSteeringMinSize ? JurassiCraftConfig.ENTITIES.herdSteeringInterval : 1;
+                this.separation.update(this, this.members.size(), interval);
             }
 
-            for (DinosaurEntity entity : remove) {
-                this.splitHerd(entity);
-
-                if (entity == this.leader) {
-                    this.updateLeader();
+            HerdFlowField field = null;
+            if (steering && this.state == State.MOVING && this.members.size() > 1 && JurassiCraftConfig.ENTITIES.herdFlowFields) {
+                if (this.flowField == null) {
+                    this.flowField = new HerdFlowField();
                 }
+                long time = this.leader.world.getTotalWorldTime();
+                if (this.flowField.isStale(this.center, this.moveX, this.moveZ, time)) {
+                    this.flowField.build(this.leader, this.center, this.moveX, this.moveZ, time);
+                }
+                field = this.flowField;
             }
+            this.flowing = field != null;
 
-            if (this.leader == null) {
-                return;
-            }
-
-            boolean attemptedPath = false;
-            int failedPaths = 0;
+            int memberIndex = -1;
 
             for (DinosaurEntity entity : this) {
-                if (this.enemies.isEmpty() || this.fleeing) {
+                memberIndex++;
+                if (steering) {
                     if (!(entity.getMetabolism().isHungry() || entity.getMetabolism().isThirsty()) && !entity.isMovementBlocked() && !entity.isInWater() && (this.fleeing || entity.getNavigator().noPath()) && (this.state == State.MOVING || this.random.nextInt(50) == 0)) {
                         float entityMoveX = this.moveX * 8.0F;
                         float entityMoveZ = this.moveZ * 8.0F;
@@ -139,19 +153,8 @@ public class Herd implements Iterable<DinosaurEntity> {
                             entityMoveZ += (this.center.z - entity.posZ) / centerDistance;
                         }
 
-                        for (DinosaurEntity other : this) {
-                            if (other != entity) {
-                               /*TODO:make sure works */ float distance = (float) entity.getDistanceSq(other);
-
-                                float separation = (entity.width * 1.5F) + 1.5F;
-
-                                if (distance < separation) {
-                                    float scale = distance / separation;
-                                    entityMoveX += (entity.posX - other.posX) / scale;
-                                    entityMoveZ += (entity.posZ - other.posZ) / scale;
-                                }
-                            }
-                        }
+                        entityMoveX += this.separation.getPushX(memberIndex);
+                        entityMoveZ += this.separation.getPushZ(memberIndex);
 
                         double navigateX = entity.posX + entityMoveX;
                         double navigateZ = entity.posZ + entityMoveZ;
@@ -166,6 +169,16 @@ public class Herd implements Iterable<DinosaurEntity> {
                         }
 
                         if (entity.disableHerdingTicks <= 0 && entity.getAttackTarget() == null && (this.members.size() > 1 || this.fleeing)) {
+                            if (field != null) {
+                                attemptedPath = true;
+                                if (this.followField(field, entity, entityMoveX - this.moveX * 8.0F, entityMoveZ - this.moveZ * 8.0F, speed)) {
+                                    if (entity.collidedHorizontally) {
+                                        failedPaths++;
+                                    }
+                                    continue;
+                                }
+                                failedPaths++;
+                            }
                             BlockPos navigatePos = entity.world.getHeight(new BlockPos(navigateX, 0, navigateZ)).up();
                             if (entity.getNavigator().getPath() != null && !entity.getNavigator().getPath().isFinished()) {
                                 PathPoint finalPoint = entity.getNavigator().getPath().getFinalPathPoint();
@@ -176,7 +189,7 @@ public class Herd implements Iterable<DinosaurEntity> {
                             attemptedPath = true;
                             if (entity.getDistanceSqToCenter(navigatePos) > 16 && !entity.isMovementBlocked()) {
                                 boolean canMove = entity.getNavigator().tryMoveToXYZ(navigatePos.getX(), navigatePos.getY(), navigatePos.getZ(), speed);
-                                if (!canMove) {
+                                if (!canMove && field == null) {
                                     failedPaths++;
                                 }
                             }
@@ -234,6 +247,37 @@ public class Herd implements Iterable<DinosaurEntity> {
         }
     }
 
+    /**
+     * Steers the member one column along the flow field through its move helper, keeping the center pull and
+     * separation push as small offsets. Returns false if the member is outside the field or cannot reach its goal,
+     * so it falls back to its own path search. Members that fall back or run into a block count as failed paths, so a
+     * blocked herd turns around like it does when path searches fail.
+     */
+    private boolean followField(HerdFlowField field, DinosaurEntity entity, float offsetX, float offsetZ, double speed) {
+        if (field.isAtGoal(entity.posX, entity.posZ)) {
+            return true;
+        }
+        int next = field.getNext(entity.posX, entity.posZ);
+        if (next < 0) {
+            return false;
+        }
+        double steerX = field.getX(next) + 0.5 - entity.posX;
+        double steerZ = field.getZ(next) + 0.5 - entity.posZ;
+        double length = Math.sqrt(steerX * steerX + steerZ * steerZ);
+        if (length > 0.0) {
+            steerX = steerX / length * 8.0 + offsetX;
+            steerZ = steerZ / length * 8.0 + offsetZ;
+            length = Math.sqrt(steerX * steerX + steerZ * steerZ);
+            steerX /= length;
+            steerZ /= length;
+        }
+        if (!entity.getNavigator().noPath()) {
+            entity.getNavigator().clearPath();
+        }
+        entity.getMoveHelper().setMoveTo(entity.posX + steerX * 2.0, field.getY(next), entity.posZ + steerZ * 2.0, speed);
+        return true;
+    }
+
     private void splitHerd(DinosaurEntity entity) {
         this.members.remove(entity);
 
@@ -253,62 +297,94 @@ public class Herd implements Iterable<DinosaurEntity> {
         List<DinosaurEntity> remove = new LinkedList<>();
 
         for (DinosaurEntity entity : this) {
-            if (!entity.isAlive() || entity.getMetabolism().isStarving() || entity.getMetabolism().isDehydrated()) {
+            if (!entity.isAlive() || (this.members.size() > 1 && (entity.getMetabolism().isStarving() || entity.getMetabolism().isDehydrated()))) {
                 remove.add(entity);
             }
         }
 
-        this.members.removeAll(remove);
+        if (!remove.isEmpty()) {
+            for (DinosaurEntity entity : remove) {
+                if (entity.isAlive()) {
+                    this.splitHerd(entity);
+                } else {
+                    this.members.remove(entity);
+                }
+            }
+
+            if (!this.members.contains(this.leader)) {
+                this.updateLeader();
+            }
+        }
+    }
+
+    /**
+     * Moves members that strayed too far from the center into herds of their own.
+     */
+    void splitStragglers() {
+        Vec3d center = this.getCenterPosition();
 
-        if (this.leader.ticksExisted > this.nextMemberCheck) {
-            this.nextMemberCheck = this.leader.ticksExisted + 20 + this.random.nextInt(20);
+        List<DinosaurEntity> remove = new LinkedList<>();
 
-            AxisAlignedBB searchBounds = new AxisAlignedBB(this.center.x - 16, this.center.y - 5, this.center.z - 16, this.center.x + 16, this.center.y + 5, this.center.z + 16);
+        for (DinosaurEntity entity : this) {
+            if (entity.getDistanceSq(center.x, center.y, center.z) > 2048) {
+                remove.add(entity);
+            }
+        }
 
-            List<Herd> otherHerds = new LinkedList<>();
+        for (DinosaurEntity entity : remove) {
+            this.splitHerd(entity);
 
-            for (DinosaurEntity entity : this.leader.world.getEntitiesWithinAABB(this.leader.getClass(), searchBounds)) {
-                if (!entity.isCarcass() && !entity.isDead && !(entity.getMetabolism().isStarving() || entity.getMetabolism().isDehydrated())) {
-                    Herd otherHerd = entity.herd;
-                    if (otherHerd == null || otherHerd.members.size() == 1) {
-                        if (this.size() >= this.herdType.getMaxHerdSize()) {
-                            if (this.leader != null && GameRuleHandler.KILL_HERD_OUTCAST.getBoolean(this.leader.world) && this.herdType.getDinosaurType() == Dinosaur.DinosaurType.AGGRESSIVE && !this.enemies.contains(entity)) {
-                                this.enemies.add(entity);
-                            }
-                            return;
-                        }
-                        this.addMember(entity);
-                    } else if (otherHerd != this && !otherHerds.contains(otherHerd)) {
-                        otherHerds.add(otherHerd);
-                    }
-                }
+            if (entity == this.leader) {
+                this.updateLeader();
             }
+        }
+    }
 
-            for (Herd otherHerd : otherHerds) {
-                int originalSize = this.size();
+    /**
+     * Merges a nearby herd of the same species into this one if both fit, or marks it as enemies if this herd is
+     * full and outcasts are killed. Returns whether the other herd was merged.
+     */
+    boolean absorb(Herd other) {
+        int maxSize = this.herdType.getMaxHerdSize();
+        int originalSize = this.size();
+
+        if (other.size() == 1) {
+            DinosaurEntity entity = other.members.iterator().next();
+            if (originalSize >= maxSize) {
+                if (GameRuleHandler.KILL_HERD_OUTCAST.getBoolean(entity.world) && this.herdType.getDinosaurType() == Dinosaur.DinosaurType.AGGRESSIVE && !this.enemies.contains(entity)) {
+                    this.enemies.add(entity);
+                }
+                return false;
+            }
+            if (!entity.isAlive() || entity.getMetabolism().isStarving() || entity.getMetabolism().isDehydrated()) {
+                return false;
+            }
+            this.addMember(entity);
+            return true;
+        }
 
-                if (otherHerd.size() <= originalSize && otherHerd.size() + originalSize < this.herdType.getMaxHerdSize()) {
-                    for (DinosaurEntity member : otherHerd) {
-                        this.members.add(member);
-                        member.herd = this;
-                    }
+        if (other.size() <= originalSize && other.size() + originalSize < maxSize) {
+            for (DinosaurEntity member : other) {
+                this.members.add(member);
+                member.herd = this;
+            }
 
-                    this.enemies.addAll(otherHerd.enemies);
+            this.enemies.addAll(other.enemies);
 
-                    this.fleeing |= otherHerd.fleeing;
+            this.fleeing |= other.fleeing;
 
-                    otherHerd.disband();
-                } else if (originalSize + 1 > this.herdType.getMaxHerdSize()) {
-                    if (GameRuleHandler.KILL_HERD_OUTCAST.getBoolean(this.leader.world) && this.herdType.getDinosaurType() == Dinosaur.DinosaurType.AGGRESSIVE) {
-                        for (DinosaurEntity entity : otherHerd) {
-                            if (!this.enemies.contains(entity)) {
-                                this.enemies.add(entity);
-                            }
-                        }
+            other.disband();
+            return true;
+        } else if (originalSize + 1 > maxSize) {
+            if (this.leader != null && GameRuleHandler.KILL_HERD_OUTCAST.getBoolean(this.leader.world) && this.herdType.getDinosaurType() == Dinosaur.DinosaurType.AGGRESSIVE) {
+                for (DinosaurEntity entity : other) {
+                    if (!this.enemies.contains(entity)) {
+                        this.enemies.add(entity);
                     }
                 }
             }
         }
+        return false;
     }
 
     public void updateLeader() {
@@ -319,6 +395,19 @@ public class Herd implements Iterable<DinosaurEntity> {
         }
     }
 
+    Vec3d updateCenter() {
+        this.center = this.getCenterPosition();
+        return this.center;
+    }
+
+    public Vec3d getCenter() {
+        return this.center;
+    }
+
+    public Dinosaur getHerdType() {
+        return this.herdType;
+    }
+
     public Vec3d getCenterPosition() {
         if (this.members.size() == 1) {
             return this.leader.getPositionVector();
@@ -366,6 +455,21 @@ public class Herd implements Iterable<DinosaurEntity> {
         this.members.add(entity);
     }
 
+    /**
+     * Removes a member that left the world, including by its chunk unloading. A reloaded dinosaur is a new entity and
+     * starts a herd of its own.
+     */
+    void removeMember(DinosaurEntity entity) {
+        if (this.members.remove(entity)) {
+            if (entity.herd == this) {
+                entity.herd = null;
+            }
+            if (this.leader == entity) {
+                this.updateLeader();
+            }
+        }
+    }
+
     public void disband() {
         this.leader = null;
         this.members.clear();
@@ -402,6 +506,28 @@ public class Herd implements Iterable<DinosaurEntity> {
         return score;
     }
 
+    /**
+     * Returns the shore a member of this herd recently found a path to, so other thirsty members can reuse it.
+     */
+    public BlockPos getWaterSource(long time) {
+        if (this.waterSource != null && time - this.waterSourceTime > WATER_SOURCE_TIME) {
+            this.waterSource = null;
+        }
+        return this.waterSource;
+    }
+
+    public void setWaterSource(BlockPos waterSource, long time) {
+        this.waterSource = waterSource;
+        this.waterSourceTime = time;
+    }
+
+    /**
+     * Returns whether members are currently steered along a flow field rather than their own paths.
+     */
+    public boolean isFlowing() {
+        return this.flowing;
+    }
+
     public boolean isBusy() {
         return this.fleeing || this.state == State.MOVING || !this.enemies.isEmpty();
     }
@@ -0,0 +1,276 @@
+package org.jurassicraft.server.entity.ai;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.pathfinding.NodeProcessor;
+import net.minecraft.pathfinding.PathNodeType;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jurassicraft.server.entity.DinosaurEntity;
+import org.jurassicraft.server.entity.ai.navigation.DinosaurWalkNodeProcessor;
+
+import java.util.Arrays;
+
+/**
+ * Integration field over the ground columns around a moving herd, holding the cost of reaching one goal column ahead
+ * of the herd from every column. Each column also stores the neighbour it reaches the goal through, so members are
+ * steered by one search instead of an A* search per member.
+ * <p>
+ * The field is rebuilt when it gets old, when the herd center drifts away from where it was built or when the herd
+ * turns.
+ */
+class HerdFlowField {
+    private static final int RADIUS = 32;
+    private static final int SIZE = RADIUS * 2 + 1;
+    private static final int GOAL_DISTANCE = 28;
+    private static final int MAX_AGE = 40;
+    private static final double MAX_DRIFT_SQ = 64.0;
+    private static final float MIN_TURN_DOT = 0.8F;
+    private static final int MAX_SURFACE_SCAN = 32;
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int BLOCKED = -1;
+    private static final int STRAIGHT_COST = 10;
+    private static final int DIAGONAL_COST = 14;
+
+    private static final int[] OFFSET_X = { 1, -1, 0, 0, 1, 1, -1, -1 };
+    private static final int[] OFFSET_Z = { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+    private final int[] penalties = new int[SIZE * SIZE];
+    private long[] heap = new long[SIZE * SIZE];
+
+    private final short[] heights = new short[SIZE * SIZE];
+    private final int[] distances = new int[SIZE * SIZE];
+    private final short[] next = new short[SIZE * SIZE];
+
+    private int originX;
+    private int originZ;
+    private double centerX;
+    private double centerZ;
+    private float directionX;
+    private float directionZ;
+    private long time;
+    private boolean built;
+
+    private DinosaurWalkNodeProcessor processor;
+
+    public boolean isStale(Vec3d center, float moveX, float moveZ, long time) {
+        if (!this.built || time - this.time >= MAX_AGE) {
+            return true;
+        }
+        double deltaX = center.x - this.centerX;
+        double deltaZ = center.z - this.centerZ;
+        return deltaX * deltaX + deltaZ * deltaZ > MAX_DRIFT_SQ || moveX * this.directionX + moveZ * this.directionZ < MIN_TURN_DOT;
+    }
+
+    /**
+     * Rebuilds the field around the herd center towards the column {@link #GOAL_DISTANCE} blocks along the movement
+     * direction. Column types come from a node processor set up for the leader like its own path searches, checking
+     * every block the leader's body would cover when centered on the column, so the field avoids the gaps and obstacles
+     * its own path searches would. The navigator's own processor is not used, since it is detached from the leader
+     * after every search.
+     */
+    public void build(DinosaurEntity leader, Vec3d center, float moveX, float moveZ, long time) {
+        this.centerX = center.x;
+        this.centerZ = center.z;
+        this.directionX = moveX;
+        this.directionZ = moveZ;
+        this.time = time;
+        this.built = true;
+        this.originX = MathHelper.floor(center.x) - RADIUS;
+        this.originZ = MathHelper.floor(center.z) - RADIUS;
+
+        World world = leader.world;
+        NodeProcessor navigatorProcessor = leader.getNavigator().getNodeProcessor();
+        if (this.processor == null) {
+            this.processor = new DinosaurWalkNodeProcessor(leader.getDinosaur());
+        }
+        DinosaurWalkNodeProcessor processor = this.processor;
+        processor.setCanEnterDoors(navigatorProcessor.getCanEnterDoors());
+        processor.setCanOpenDoors(navigatorProcessor.getCanOpenDoors());
+        processor.setCanSwim(navigatorProcessor.getCanSwim());
+        processor.init(world, leader);
+        int sizeX = MathHelper.floor(leader.width + 1.0F);
+        int sizeY = MathHelper.floor(leader.height + 1.0F);
+        int offset = MathHelper.floor(0.5F - leader.width / 2.0F);
+        boolean canOpenDoors = processor.getCanOpenDoors();
+        boolean canEnterDoors = processor.getCanEnterDoors();
+        for (int cellZ = 0; cellZ < SIZE; cellZ++) {
+            for (int cellX = 0; cellX < SIZE; cellX++) {
+                int cell = cellZ * SIZE + cellX;
+                int x = this.originX + cellX;
+                int z = this.originZ + cellZ;
+                int y = getSurface(world, x, z);
+                this.heights[cell] = (short) y;
+                if (y < 0) {
+                    this.penalties[cell] = BLOCKED;
+                } else {
+                    PathNodeType type = processor.getPathNodeType(world, x + offset, y, z + offset, leader, sizeX, sizeY, sizeX, canOpenDoors, canEnterDoors);
+                    if (type == PathNodeType.OPEN && y > 0) {
+                        type = processor.getPathNodeType(world, x + offset, y - 1, z + offset, leader, sizeX, sizeY, sizeX, canOpenDoors, canEnterDoors);
+                    }
+                    float priority = leader.getPathPriority(type);
+                    this.penalties[cell] = priority < 0.0F ? BLOCKED : (int) (priority * STRAIGHT_COST);
+                }
+            }
+        }
+        processor.postProcess();
+
+        int goalX = MathHelper.clamp(MathHelper.floor(center.x + moveX * GOAL_DISTANCE) - this.originX, 0, SIZE - 1);
+        int goalZ = MathHelper.clamp(MathHelper.floor(center.z + moveZ * GOAL_DISTANCE) - this.originZ, 0, SIZE - 1);
+        int climb = Math.max(MathHelper.floor(Math.max(1.0F, leader.stepHeight)), leader.getDinosaur().getJumpHeight());
+        this.integrate(goalZ * SIZE + goalX, climb, leader.getMaxFallHeight());
+    }
+
+    /**
+     * Fills in the cost from every column to the goal with Dijkstra's algorithm, expanding backwards from the goal
+     * over moves a member could make: at most {@code climb} blocks up and {@code fall} blocks down.
+     */
+    private void integrate(int goal, int climb, int fall) {
+        Arrays.fill(this.distances, UNREACHABLE);
+        this.distances[goal] = 0;
+        int size = 0;
+        this.heap[size++] = goal;
+        while (size > 0) {
+            long entry = this.heap[0];
+            size = this.pop(size);
+            int cell = (int) entry;
+            int distance = (int) (entry >>> 32);
+            if (distance > this.distances[cell]) {
+                continue;
+            }
+            int cellX = cell % SIZE;
+            int cellZ = cell / SIZE;
+            int height = this.heights[cell];
+            for (int direction = 0; direction < OFFSET_X.length; direction++) {
+                int neighbourX = cellX + OFFSET_X[direction];
+                int neighbourZ = cellZ + OFFSET_Z[direction];
+                if (neighbourX < 0 || neighbourZ < 0 || neighbourX >= SIZE || neighbourZ >= SIZE) {
+                    continue;
+                }
+                int neighbour = neighbourZ * SIZE + neighbourX;
+                if (this.penalties[neighbour] == BLOCKED) {
+                    continue;
+                }
+                int rise = height - this.heights[neighbour];
+                if (rise > climb || -rise > fall) {
+                    continue;
+                }
+                boolean diagonal = direction >= 4;
+                if (diagonal && (this.penalties[cellZ * SIZE + neighbourX] == BLOCKED || this.penalties[neighbourZ * SIZE + cellX] == BLOCKED)) {
+                    continue;
+                }
+                int penalty = Math.max(this.penalties[cell], 0);
+                int cost = distance + (diagonal ? DIAGONAL_COST : STRAIGHT_COST) + penalty;
+                if (cost < this.distances[neighbour]) {
+                    this.distances[neighbour] = cost;
+                    this.next[neighbour] = (short) cell;
+                    if (size == this.heap.length) {
+                        this.heap = Arrays.copyOf(this.heap, this.heap.length * 2);
+                    }
+                    size = this.push(size, (long) cost << 32 | neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the column the given position should move to next as a cell index, or -1 if the position is outside
+     * the field, cannot reach the goal or is already at it.
+     */
+    public int getNext(double posX, double posZ) {
+        int cell = this.getCell(posX, posZ);
+        if (cell < 0 || this.distances[cell] == UNREACHABLE || this.distances[cell] == 0) {
+            return -1;
+        }
+        return this.next[cell];
+    }
+
+    /**
+     * Returns whether the given position is covered by the field and already at its goal.
+     */
+    public boolean isAtGoal(double posX, double posZ) {
+        int cell = this.getCell(posX, posZ);
+        return cell >= 0 && this.distances[cell] == 0;
+    }
+
+    public int getX(int cell) {
+        return this.originX + cell % SIZE;
+    }
+
+    public int getY(int cell) {
+        return this.heights[cell];
+    }
+
+    public int getZ(int cell) {
+        return this.originZ + cell / SIZE;
+    }
+
+    private int getCell(double posX, double posZ) {
+        int cellX = MathHelper.floor(posX) - this.originX;
+        int cellZ = MathHelper.floor(posZ) - this.originZ;
+        if (!this.built || cellX < 0 || cellZ < 0 || cellX >= SIZE || cellZ >= SIZE) {
+            return -1;
+        }
+        return cellZ * SIZE + cellX;
+    }
+
+    /**
+     * Returns the height a member would stand at in the given column: above the highest block that blocks movement,
+     * ignoring leaves, or on top of a liquid. Returns -1 if the chunk is not loaded.
+     */
+    private static int getSurface(World world, int x, int z) {
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(x >> 4, z >> 4);
+        if (chunk == null) {
+            return -1;
+        }
+        int y = chunk.getHeightValue(x & 15, z & 15);
+        int minY = Math.max(0, y - MAX_SURFACE_SCAN);
+        while (y > minY) {
+            IBlockState state = chunk.getBlockState(x, y - 1, z);
+            Material material = state.getMaterial();
+            if ((material.blocksMovement() && material != Material.LEAVES) || material.isLiquid()) {
+                break;
+            }
+            y--;
+        }
+        return y;
+    }
+
+    private int push(int size, long entry) {
+        int index = size;
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+            if (this.heap[parent] <= entry) {
+                break;
+            }
+            this.heap[index] = this.heap[parent];
+            index = parent;
+        }
+        this.heap[index] = entry;
+        return size + 1;
+    }
+
+    private int pop(int size) {
+        long last = this.heap[--size];
+        int index = 0;
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && this.heap[child + 1] < this.heap[child]) {
+                child++;
+            }
+            if (this.heap[child] >= last) {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = last;
+        return size;
+    }
+}
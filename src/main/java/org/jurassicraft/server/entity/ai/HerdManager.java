@@ -0,0 +1,179 @@
+package org.jurassicraft.server.entity.ai;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.jurassicraft.server.dinosaur.Dinosaur;
+import org.jurassicraft.server.entity.DinosaurEntity;
+import org.jurassicraft.server.world.WorldIndex;
+import org.jurassicraft.server.world.WorldIndexRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Owns every herd in a server world. Herd centers are bucketed in a per-species grid, and merging, splitting and
+ * outcasting run for all herds in one pass every {@link #UPDATE_INTERVAL} ticks.
+ */
+public class HerdManager implements WorldIndex {
+    private static final WorldIndexRegistry<HerdManager> MANAGERS = WorldIndexRegistry.create(world -> new HerdManager());
+
+    private static final int UPDATE_INTERVAL = 20;
+    private static final int CELL_SIZE = 32;
+    private static final double MERGE_RANGE = 16.0;
+    private static final double MERGE_RANGE_Y = 5.0;
+
+    private final Set<Herd> herds = new LinkedHashSet<>();
+    private final List<Herd> pending = new ArrayList<>();
+    private final Map<Dinosaur, Map<Long, List<Herd>>> grid = new HashMap<>();
+
+    private int merges;
+    private int mergesPerMinute;
+    private long minuteStart;
+
+    public static HerdManager get(World world) {
+        return MANAGERS.get(world);
+    }
+
+    public static HerdManager getIfPresent(World world) {
+        return MANAGERS.getIfPresent(world);
+    }
+
+    public void add(Herd herd) {
+        this.pending.add(herd);
+    }
+
+    /**
+     * Drops an entity that left the world from its herd and from the enemies of every herd, so herds never keep
+     * unloaded entities.
+     */
+    @Override
+    public void onEntityRemoved(Entity entity) {
+        if (entity instanceof DinosaurEntity) {
+            Herd herd = ((DinosaurEntity) entity).herd;
+            if (herd != null) {
+                herd.removeMember((DinosaurEntity) entity);
+            }
+        }
+        if (entity instanceof EntityLivingBase) {
+            for (Herd herd : this.herds) {
+                herd.enemies.remove(entity);
+            }
+            for (Herd herd : this.pending) {
+                herd.enemies.remove(entity);
+            }
+        }
+    }
+
+    @Override
+    public void update(World world) {
+        long time = world.getTotalWorldTime();
+        if (time - this.minuteStart >= 1200) {
+            this.mergesPerMinute = this.merges;
+            this.merges = 0;
+            this.minuteStart = time;
+        }
+        if (time % UPDATE_INTERVAL != 0) {
+            return;
+        }
+
+        this.herds.addAll(this.pending);
+        this.pending.clear();
+        this.herds.removeIf(herd -> herd.members.isEmpty());
+
+        for (Herd herd : this.herds) {
+            if (!herd.members.isEmpty()) {
+                herd.refreshMembers();
+                herd.splitStragglers();
+            }
+        }
+
+        this.herds.addAll(this.pending);
+        this.pending.clear();
+
+        this.grid.clear();
+        Iterator<Herd> iterator = this.herds.iterator();
+        while (iterator.hasNext()) {
+            Herd herd = iterator.next();
+            if (herd.members.isEmpty() || herd.leader == null) {
+                iterator.remove();
+                continue;
+            }
+            Vec3d center = herd.updateCenter();
+            this.grid.computeIfAbsent(herd.getHerdType(), key -> new HashMap<>()).computeIfAbsent(cell(center.x, center.z), key -> new ArrayList<>()).add(herd);
+        }
+
+        for (Herd herd : this.herds) {
+            if (!herd.members.isEmpty()) {
+                this.mergeNearby(herd);
+            }
+        }
+
+        this.herds.removeIf(herd -> herd.members.isEmpty());
+    }
+
+    private void mergeNearby(Herd herd) {
+        Map<Long, List<Herd>> cells = this.grid.get(herd.getHerdType());
+        Vec3d center = herd.getCenter();
+        int cellX = MathHelper.floor(center.x / CELL_SIZE);
+        int cellZ = MathHelper.floor(center.z / CELL_SIZE);
+        for (int offsetX = -1; offsetX <= 1; offsetX++) {
+            for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+                List<Herd> cell = cells.get(ChunkPos.asLong(cellX + offsetX, cellZ + offsetZ));
+                if (cell == null) {
+                    continue;
+                }
+                for (Herd other : cell) {
+                    if (other == herd || other.members.isEmpty()) {
+                        continue;
+                    }
+                    Vec3d otherCenter = other.getCenter();
+                    if (Math.abs(otherCenter.x - center.x) <= MERGE_RANGE && Math.abs(otherCenter.z - center.z) <= MERGE_RANGE && Math.abs(otherCenter.y - center.y) <= MERGE_RANGE_Y) {
+                        if (herd.absorb(other)) {
+                            this.merges++;
+                        }
+                        if (herd.members.isEmpty()) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static long cell(double x, double z) {
+        return ChunkPos.asLong(MathHelper.floor(x / CELL_SIZE), MathHelper.floor(z / CELL_SIZE));
+    }
+
+    public int getHerdCount() {
+        return this.herds.size();
+    }
+
+    public int getMemberCount() {
+        int members = 0;
+        for (Herd herd : this.herds) {
+            members += herd.size();
+        }
+        return members;
+    }
+
+    public int getLargestHerdSize() {
+        int largest = 0;
+        for (Herd herd : this.herds) {
+            largest = Math.max(largest, herd.size());
+        }
+        return largest;
+    }
+
+    public int getMergesPerMinute() {
+        return this.mergesPerMinute;
+    }
+}
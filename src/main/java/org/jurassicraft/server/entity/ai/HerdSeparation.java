@@ -0,0 +1,153 @@
+package org.jurassicraft.server.entity.ai;
+
+import org.jurassicraft.server.entity.DinosaurEntity;
+
+/**
+ * Separation push between herd members. Member positions are copied into reusable primitive arrays and swept in
+ * order of x, so members are only compared against others within separation range along that axis. The order is
+ * kept between updates, so re-sorting a herd that barely moved is close to linear.
+ * <p>
+ * With an interval above 1 the push is only recomputed every interval ticks, and the result in between is
+ * interpolated from the previous push towards the latest one.
+ */
+class HerdSeparation {
+    private DinosaurEntity[] entities = new DinosaurEntity[0];
+    private double[] posX = new double[0];
+    private double[] posY = new double[0];
+    private double[] posZ = new double[0];
+    private double[] separation = new double[0];
+    private double[] lastPushX = new double[0];
+    private double[] lastPushZ = new double[0];
+    private double[] pushX = new double[0];
+    private double[] pushZ = new double[0];
+    private int[] order = new int[0];
+
+    private int size;
+    private int ticks;
+    private float progress = 1.0F;
+
+    public void update(Iterable<DinosaurEntity> members, int count, int interval) {
+        boolean changed = count != this.size;
+        this.ensureCapacity(count);
+        int index = 0;
+        for (DinosaurEntity member : members) {
+            if (this.entities[index] != member) {
+                changed = true;
+                this.entities[index] = member;
+            }
+            index++;
+        }
+        for (int i = count; i < this.size; i++) {
+            this.entities[i] = null;
+        }
+        this.size = count;
+
+        if (changed) {
+            for (int i = 0; i < count; i++) {
+                this.order[i] = i;
+            }
+        }
+
+        if (changed || interval <= 1) {
+            this.compute();
+            System.arraycopy(this.pushX, 0, this.lastPushX, 0, count);
+            System.arraycopy(this.pushZ, 0, this.lastPushZ, 0, count);
+            this.ticks = 1;
+            this.progress = 1.0F;
+            return;
+        }
+
+        if (this.ticks++ % interval == 0) {
+            for (int i = 0; i < count; i++) {
+                this.lastPushX[i] = this.getPushX(i);
+                this.lastPushZ[i] = this.getPushZ(i);
+            }
+            this.compute();
+            this.ticks = 1;
+        }
+        this.progress = (float) this.ticks / interval;
+    }
+
+    public double getPushX(int index) {
+        return this.lastPushX[index] + (this.pushX[index] - this.lastPushX[index]) * this.progress;
+    }
+
+    public double getPushZ(int index) {
+        return this.lastPushZ[index] + (this.pushZ[index] - this.lastPushZ[index]) * this.progress;
+    }
+
+    private void compute() {
+        int count = this.size;
+        double maxSeparation = 0.0;
+        for (int i = 0; i < count; i++) {
+            DinosaurEntity entity = this.entities[i];
+            this.posX[i] = entity.posX;
+            this.posY[i] = entity.posY;
+            this.posZ[i] = entity.posZ;
+            this.separation[i] = (entity.width * 1.5F) + 1.5F;
+            this.pushX[i] = 0.0;
+            this.pushZ[i] = 0.0;
+            maxSeparation = Math.max(maxSeparation, this.separation[i]);
+        }
+
+        for (int i = 1; i < count; i++) {
+            int current = this.order[i];
+            double x = this.posX[current];
+            int j = i - 1;
+            while (j >= 0 && this.posX[this.order[j]] > x) {
+                this.order[j + 1] = this.order[j];
+                j--;
+            }
+            this.order[j + 1] = current;
+        }
+
+        // Separation compares the squared distance against the separation, so members further apart than its root never interact
+        double reach = Math.sqrt(maxSeparation);
+
+        for (int a = 0; a < count; a++) {
+            int i = this.order[a];
+            for (int b = a + 1; b < count; b++) {
+                int j = this.order[b];
+                double deltaX = this.posX[j] - this.posX[i];
+                if (deltaX >= reach) {
+                    break;
+                }
+                double deltaY = this.posY[j] - this.posY[i];
+                double deltaZ = this.posZ[j] - this.posZ[i];
+                double distance = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+                if (distance <= 0.0) {
+                    continue;
+                }
+                if (distance < this.separation[i]) {
+                    double scale = distance / this.separation[i];
+                    this.pushX[i] -= deltaX / scale;
+                    this.pushZ[i] -= deltaZ / scale;
+                }
+                if (distance < this.separation[j]) {
+                    double scale = distance / this.separation[j];
+                    this.pushX[j] += deltaX / scale;
+                    this.pushZ[j] += deltaZ / scale;
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (this.entities.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, this.entities.length * 2);
+        DinosaurEntity[] entities = new DinosaurEntity[capacity];
+        System.arraycopy(this.entities, 0, entities, 0, this.size);
+        this.entities = entities;
+        this.posX = new double[capacity];
+        this.posY = new double[capacity];
+        this.posZ = new double[capacity];
+        this.separation = new double[capacity];
+        this.lastPushX = new double[capacity];
+        this.lastPushZ = new double[capacity];
+        this.pushX = new double[capacity];
+        this.pushZ = new double[capacity];
+        this.order = new int[capacity];
+    }
+}
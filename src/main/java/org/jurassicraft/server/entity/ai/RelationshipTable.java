@@ -0,0 +1,366 @@
+package org.jurassicraft.server.entity.ai;
+
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraftforge.common.util.Constants;
+import org.jurassicraft.server.dinosaur.Dinosaur;
+import org.jurassicraft.server.entity.DinosaurEntity;
+import org.jurassicraft.server.world.DinosaurIndex;
+
+import java.util.UUID;
+
+/**
+ * Bounded table of how a dinosaur feels about other dinosaurs, stored in open-addressed arrays keyed by UUID. When
+ * the table is full, the weakest and least recently touched relationship is evicted. Relationships that have not been
+ * touched for a while decay towards zero and are dropped once they reach it.
+ */
+public class RelationshipTable {
+    public static final int MAX_SCORE = 1000;
+
+    private static final int CAPACITY = 64;
+    private static final int INITIAL_SLOTS = 8;
+    private static final int DECAY_INTERVAL = 1200;
+    private static final int DECAY_AGE = 6000;
+    private static final short ENEMY_SCORE = -30;
+
+    private static final long[] REMOVAL_MOST = new long[CAPACITY];
+    private static final long[] REMOVAL_LEAST = new long[CAPACITY];
+
+    private boolean[] used;
+    private long[] most;
+    private long[] least;
+    private short[] scores;
+    private int[] touched;
+    private DinosaurEntity[] cached;
+    private int[] cachedGenerations;
+
+    private int size;
+    private int lastDecay;
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(UUID entity) {
+        return this.find(entity.getMostSignificantBits(), entity.getLeastSignificantBits()) >= 0;
+    }
+
+    public void onAttacked(DinosaurEntity owner, UUID attacker, double damage) {
+        int slot = this.getOrCreate(attacker, (short) 0, owner.ticksExisted);
+        this.setScore(slot, this.scores[slot] - (int) damage);
+        this.touched[slot] = owner.ticksExisted;
+    }
+
+    public void addEnemy(DinosaurEntity owner, UUID enemy) {
+        this.getOrCreate(enemy, ENEMY_SCORE, owner.ticksExisted);
+    }
+
+    /**
+     * Bonds the owner with a herd member it stays close to, applying the given number of relationship updates at once.
+     */
+    public void updateHerd(DinosaurEntity owner, DinosaurEntity member, int steps) {
+        int slot = this.getOrCreate(member.getUniqueID(), (short) 0, owner.ticksExisted);
+        if (owner.family == null) {
+            DinosaurEntity entity = this.get(owner, slot);
+            if (entity != null) {
+                double distance = entity.getDistanceSq(owner);
+                if (distance < 32) {
+                    this.setScore(slot, this.scores[slot] + 2 * steps);
+                    this.touched[slot] = owner.ticksExisted;
+                } else if (this.scores[slot] > 0) {
+                    int decrease = 0;
+                    for (int step = 0; step < steps; step++) {
+                        if (owner.getRNG().nextDouble() > 0.8) {
+                            decrease++;
+                        }
+                    }
+                    this.setScore(slot, this.scores[slot] - decrease);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a loaded dinosaur of the other sex this dinosaur is close enough to to start a family with, or null.
+     */
+    public DinosaurEntity findMate(DinosaurEntity owner) {
+        for (int slot = 0; this.size > 0 && slot < this.used.length; slot++) {
+            if (this.used[slot] && this.scores[slot] > MAX_SCORE * 0.9) {
+                DinosaurEntity entity = this.get(owner, slot);
+                if (entity != null && owner.isMale() != entity.isMale()) {
+                    return entity;
+                }
+            }
+        }
+        return null;
+    }
+
+    public void setFamily(DinosaurEntity owner, UUID entity) {
+        int slot = this.getOrCreate(entity, (short) MAX_SCORE, owner.ticksExisted);
+        this.scores[slot] = MAX_SCORE;
+        this.touched[slot] = owner.ticksExisted;
+    }
+
+    /**
+     * Lets every relationship act on the owner, dropping relationships with dinosaurs that are no longer loaded, and
+     * decays untouched relationships every {@link #DECAY_INTERVAL} ticks.
+     */
+    public void update(DinosaurEntity owner) {
+        if (this.size == 0) {
+            return;
+        }
+        int removals = 0;
+        for (int slot = 0; slot < this.used.length; slot++) {
+            if (this.used[slot] && this.update(owner, slot)) {
+                REMOVAL_MOST[removals] = this.most[slot];
+                REMOVAL_LEAST[removals++] = this.least[slot];
+            }
+        }
+        if (owner.ticksExisted - this.lastDecay >= DECAY_INTERVAL) {
+            this.lastDecay = owner.ticksExisted;
+            for (int slot = 0; slot < this.used.length; slot++) {
+                if (this.used[slot] && owner.ticksExisted - this.touched[slot] >= DECAY_AGE && !this.isRemoved(slot, removals)) {
+                    int score = this.scores[slot];
+                    int step = Math.max(1, Math.abs(score) >> 3);
+                    score = score > 0 ? Math.max(0, score - step) : Math.min(0, score + step);
+                    this.scores[slot] = (short) score;
+                    if (score == 0) {
+                        REMOVAL_MOST[removals] = this.most[slot];
+                        REMOVAL_LEAST[removals++] = this.least[slot];
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < removals; i++) {
+            int slot = this.find(REMOVAL_MOST[i], REMOVAL_LEAST[i]);
+            if (slot >= 0) {
+                this.removeSlot(slot);
+            }
+        }
+    }
+
+    private boolean isRemoved(int slot, int removals) {
+        for (int i = 0; i < removals; i++) {
+            if (REMOVAL_MOST[i] == this.most[slot] && REMOVAL_LEAST[i] == this.least[slot]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean update(DinosaurEntity owner, int slot) {
+        DinosaurEntity entity = this.get(owner, slot);
+        if (entity == null) {
+            return true;
+        }
+        int score = this.scores[slot];
+        boolean isPreoccupied = owner.getNavigator().noPath() && owner.getAttackTarget() == null;
+        double scaleScore = score / (double) MAX_SCORE;
+        Dinosaur.DinosaurType dinosaurType = owner.getDinosaur().getDinosaurType();
+        if (score < 0) {
+            if (!isPreoccupied && dinosaurType != Dinosaur.DinosaurType.SCARED && owner.getRNG().nextDouble() * scaleScore > 0.3) {
+                owner.setAttackTarget(entity);
+            }
+        } else if (score > 0) {
+            if ((dinosaurType == Dinosaur.DinosaurType.AGGRESSIVE || dinosaurType == Dinosaur.DinosaurType.NEUTRAL) && entity.getAttackTarget() != null && owner.getRNG().nextDouble() * scaleScore > 0.3) {
+                owner.setAttackTarget(entity.getAttackTarget());
+            } else if (owner.family == null && !isPreoccupied && owner.getRNG().nextDouble() * scaleScore > 0.6) {
+                owner.getNavigator().tryMoveToEntityLiving(entity, 0.8);
+            }
+        }
+        EntityLivingBase lastAttacker = owner.getAttackTarget();
+        if (lastAttacker != null && (lastAttacker.isDead || (lastAttacker instanceof DinosaurEntity && ((DinosaurEntity) lastAttacker).isCarcass()))) {
+            EntityLivingBase lastAttackerKiller = lastAttacker.getRevengeTarget();
+            if (lastAttackerKiller == entity) {
+                this.setScore(slot, score + 100);
+                this.touched[slot] = owner.ticksExisted;
+            }
+        }
+        return entity == owner;
+    }
+
+    private DinosaurEntity get(DinosaurEntity owner, int slot) {
+        DinosaurIndex index = DinosaurIndex.get(owner.world);
+        if (this.cachedGenerations[slot] != index.getGeneration()) {
+            this.cached[slot] = index.get(new UUID(this.most[slot], this.least[slot]));
+            this.cachedGenerations[slot] = index.getGeneration();
+        }
+        return this.cached[slot];
+    }
+
+    private void setScore(int slot, int score) {
+        this.scores[slot] = (short) Math.max(-MAX_SCORE, Math.min(MAX_SCORE, score));
+    }
+
+    private int getOrCreate(UUID entity, short score, int time) {
+        long most = entity.getMostSignificantBits();
+        long least = entity.getLeastSignificantBits();
+        int slot = this.find(most, least);
+        if (slot >= 0) {
+            return slot;
+        }
+        if (this.size >= CAPACITY) {
+            this.evict();
+        }
+        if (this.used == null) {
+            this.allocate(INITIAL_SLOTS);
+        } else if ((this.size + 1) * 2 > this.used.length) {
+            this.resize(this.used.length * 2);
+        }
+        return this.insert(most, least, score, time);
+    }
+
+    private int find(long most, long least) {
+        if (this.size == 0) {
+            return -1;
+        }
+        int mask = this.used.length - 1;
+        for (int slot = hash(most, least) & mask; this.used[slot]; slot = (slot + 1) & mask) {
+            if (this.most[slot] == most && this.least[slot] == least) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int insert(long most, long least, short score, int time) {
+        int mask = this.used.length - 1;
+        int slot = hash(most, least) & mask;
+        while (this.used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.used[slot] = true;
+        this.most[slot] = most;
+        this.least[slot] = least;
+        this.scores[slot] = score;
+        this.touched[slot] = time;
+        this.cached[slot] = null;
+        this.cachedGenerations[slot] = -1;
+        this.size++;
+        return slot;
+    }
+
+    /**
+     * Removes the relationship with the lowest absolute score, preferring the one untouched for longest.
+     */
+    private void evict() {
+        int victim = -1;
+        for (int slot = 0; slot < this.used.length; slot++) {
+            if (this.used[slot]) {
+                if (victim < 0) {
+                    victim = slot;
+                    continue;
+                }
+                int score = Math.abs(this.scores[slot]);
+                int victimScore = Math.abs(this.scores[victim]);
+                if (score < victimScore || (score == victimScore && this.touched[slot] < this.touched[victim])) {
+                    victim = slot;
+                }
+            }
+        }
+        if (victim >= 0) {
+            this.removeSlot(victim);
+        }
+    }
+
+    /**
+     * Removes the entry at the given slot, shifting back later entries of its probe run so lookups stay correct.
+     */
+    private void removeSlot(int slot) {
+        int mask = this.used.length - 1;
+        int hole = slot;
+        this.used[hole] = false;
+        this.cached[hole] = null;
+        int next = (hole + 1) & mask;
+        while (this.used[next]) {
+            int home = hash(this.most[next], this.least[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.used[hole] = true;
+                this.most[hole] = this.most[next];
+                this.least[hole] = this.least[next];
+                this.scores[hole] = this.scores[next];
+                this.touched[hole] = this.touched[next];
+                this.cached[hole] = this.cached[next];
+                this.cachedGenerations[hole] = this.cachedGenerations[next];
+                this.used[next] = false;
+                this.cached[next] = null;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.size--;
+    }
+
+    private void allocate(int slots) {
+        this.used = new boolean[slots];
+        this.most = new long[slots];
+        this.least = new long[slots];
+        this.scores = new short[slots];
+        this.touched = new int[slots];
+        this.cached = new DinosaurEntity[slots];
+        this.cachedGenerations = new int[slots];
+    }
+
+    private void resize(int slots) {
+        boolean[] used = this.used;
+        long[] most = this.most;
+        long[] least = this.least;
+        short[] scores = this.scores;
+        int[] touched = this.touched;
+        this.allocate(slots);
+        this.size = 0;
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot]) {
+                this.insert(most[slot], least[slot], scores[slot], touched[slot]);
+            }
+        }
+    }
+
+    private static int hash(long most, long least) {
+        long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Writes the table as an int array holding the UUID halves and score of every relationship.
+     */
+    public void writeToNBT(NBTTagCompound nbt) {
+        int[] data = new int[this.size * 5];
+        int index = 0;
+        for (int slot = 0; this.size > 0 && slot < this.used.length; slot++) {
+            if (this.used[slot]) {
+                data[index++] = (int) (this.most[slot] >>> 32);
+                data[index++] = (int) this.most[slot];
+                data[index++] = (int) (this.least[slot] >>> 32);
+                data[index++] = (int) this.least[slot];
+                data[index++] = this.scores[slot];
+            }
+        }
+        nbt.setIntArray("Relationships", data);
+    }
+
+    /**
+     * Reads the table, also accepting the list of relationship compounds older versions wrote.
+     */
+    public void readFromNBT(NBTTagCompound nbt, int time) {
+        if (nbt.getTagId("Relationships") == Constants.NBT.TAG_INT_ARRAY) {
+            int[] data = nbt.getIntArray("Relationships");
+            for (int index = 0; index + 4 < data.length; index += 5) {
+                long most = (long) data[index] << 32 | (data[index + 1] & 0xFFFFFFFFL);
+                long least = (long) data[index + 2] << 32 | (data[index + 3] & 0xFFFFFFFFL);
+                this.getOrCreate(new UUID(most, least), (short) data[index + 4], time);
+            }
+        } else {
+            NBTTagList relationships = nbt.getTagList("Relationships", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < relationships.tagCount(); i++) {
+                NBTTagCompound compound = relationships.getCompoundTagAt(i);
+                this.getOrCreate(compound.getUniqueId("UUID"), compound.getShort("Score"), time);
+            }
+        }
+    }
+}
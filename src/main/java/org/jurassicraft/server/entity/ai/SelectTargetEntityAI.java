@@ -73,7 +73,7 @@ public class SelectTargetEntityAI extends EntityAIBase {
         }
 
         if (!(this.entity.herd != null && this.entity.herd.fleeing) && this.entity.getAgePercentage() > 50 && (this.entity.getOwner() == null || this.entity.getMetabolism().isStarving()) && !this.entity.isSleeping() && this.entity.getAttackCooldown() <= 0) {
-            List<EntityLivingBase> entities = this.entity.world.getEntitiesWithinAABB(EntityLivingBase.class, this.entity.getEntityBoundingBox().grow(16.0D, 16.0D, 16.0D));
+            List<EntityLivingBase> entities = this.entity.getNeighborhood().getEntities(EntityLivingBase.class, this.entity.getEntityBoundingBox().grow(16.0D, 16.0D, 16.0D));
 
             if (entities.size() > 0) {
                 this.targetEntity = null;
@@ -36,7 +36,7 @@ public class TargetCarcassEntityAI extends EntityAIBase {
         }
 
         if (!this.entity.isBusy()) {
-            List<DinosaurEntity> entities = this.entity.world.getEntitiesWithinAABB(DinosaurEntity.class, this.entity.getEntityBoundingBox().expand(16, 16, 16));
+            List<DinosaurEntity> entities = this.entity.getNeighborhood().getEntities(DinosaurEntity.class, this.entity.getEntityBoundingBox().expand(16, 16, 16));
 
             if (entities.size() > 0) {
                 this.targetEntity = null;
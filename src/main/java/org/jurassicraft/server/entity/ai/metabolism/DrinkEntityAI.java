@@ -1,7 +1,5 @@
 package org.jurassicraft.server.entity.ai.metabolism;
 
-import net.minecraft.block.material.Material;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.pathfinding.Path;
 import net.minecraft.util.math.BlockPos;
@@ -10,12 +8,16 @@ import net.minecraft.world.World;
 import org.jurassicraft.client.model.animation.EntityAnimation;
 import org.jurassicraft.server.entity.DinosaurEntity;
 import org.jurassicraft.server.entity.MetabolismContainer;
+import org.jurassicraft.server.entity.ai.Herd;
 import org.jurassicraft.server.entity.ai.Mutex;
-import org.jurassicraft.server.entity.ai.util.AIUtils;
-import org.jurassicraft.server.entity.ai.util.OnionTraverser;
 import org.jurassicraft.server.util.GameRuleHandler;
+import org.jurassicraft.server.world.ShoreIndex;
 
 public class DrinkEntityAI extends EntityAIBase {
+    private static final int SEARCH_RADIUS = 32;
+    private static final int MAX_PATH_ATTEMPTS = 8;
+    private static final int FAILED_SEARCH_DELAY = 100;
+
     protected DinosaurEntity dinosaur;
 
     protected Path path;
@@ -23,6 +25,8 @@ public class DrinkEntityAI extends EntityAIBase {
 
     protected int giveUpTime;
 
+    private long nextSearchTime;
+
     public DrinkEntityAI(DinosaurEntity dinosaur) {
         this.dinosaur = dinosaur;
         this.setMutexBits(Mutex.METABOLISM);
@@ -34,22 +38,31 @@ public class DrinkEntityAI extends EntityAIBase {
             if (this.dinosaur.getNavigator().noPath() || this.dinosaur.getMetabolism().isDehydrated()) {
                 if (this.dinosaur.getMetabolism().isThirsty()) {
                     World world = this.dinosaur.world;
+                    long time = world.getTotalWorldTime();
+                    if (time < this.nextSearchTime) {
+                        return false;
+                    }
+                    BlockPos position = this.dinosaur.getPosition();
+                    Herd herd = this.dinosaur.herd;
                     BlockPos water = null;
-                    OnionTraverser traverser = new OnionTraverser(this.dinosaur.getPosition(), 32);
-                    for (BlockPos pos : traverser) {
-                        if (world.getBlockState(pos).getMaterial() == Material.WATER) {
-                            BlockPos surface = AIUtils.findSurface(world, pos);
-                            BlockPos shore = AIUtils.findShore(world, surface.down());
-                            if (shore != null) {
-                                IBlockState state = world.getBlockState(shore);
-                                if (state.isFullBlock()) {
-                                    Path path = this.dinosaur.getNavigator().getPathToPos(shore);
-                                    if (path != null && path.getCurrentPathLength() != 0) {
-                                        this.path = path;
-                                        water = shore;
-                                        break;
-                                    }
+                    if (herd != null) {
+                        BlockPos shared = herd.getWaterSource(time);
+                        if (shared != null && shared.distanceSq(position) <= SEARCH_RADIUS * SEARCH_RADIUS && this.tryPath(shared)) {
+                            water = shared;
+                        }
+                    }
+                    if (water == null) {
+                        int attempts = 0;
+                        for (BlockPos shore : ShoreIndex.get(world).getShores(position, SEARCH_RADIUS)) {
+                            if (this.tryPath(shore)) {
+                                water = shore;
+                                if (herd != null) {
+                                    herd.setWaterSource(shore, time);
                                 }
+                                break;
+                            }
+                            if (++attempts >= MAX_PATH_ATTEMPTS) {
+                                break;
                             }
                         }
                     }
@@ -58,12 +71,22 @@ public class DrinkEntityAI extends EntityAIBase {
                         this.giveUpTime = this.path.getCurrentPathLength() * 20;
                         return this.dinosaur.getNavigator().setPath(this.path, 1.0);
                     }
+                    this.nextSearchTime = time + FAILED_SEARCH_DELAY;
                 }
             }
         }
         return false;
     }
 
+    private boolean tryPath(BlockPos shore) {
+        Path path = this.dinosaur.getNavigator().getPathToPos(shore);
+        if (path != null && path.getCurrentPathLength() != 0) {
+            this.path = path;
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public void updateTask() {
         if (this.giveUpTime > 0) {
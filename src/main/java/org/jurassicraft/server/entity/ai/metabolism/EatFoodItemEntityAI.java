@@ -4,7 +4,6 @@ import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.world.World;
 import org.jurassicraft.server.entity.DinosaurEntity;
 import org.jurassicraft.server.entity.ai.Mutex;
 import org.jurassicraft.server.food.FoodHelper;
@@ -29,8 +28,7 @@ public class EatFoodItemEntityAI extends EntityAIBase {
                 double closestDistance = Integer.MAX_VALUE;
                 EntityItem closest = null;
                 boolean found = false;
-                World world = this.dinosaur.world;
-                List<EntityItem> items = world.getEntitiesWithinAABB(EntityItem.class, this.dinosaur.getEntityBoundingBox().expand(16, 16, 16));
+                List<EntityItem> items = this.dinosaur.getNeighborhood().getEntities(EntityItem.class, this.dinosaur.getEntityBoundingBox().expand(16, 16, 16));
                 for (EntityItem entity : items) {
                     ItemStack stack = entity.getItem();
                     Item item = stack.getItem();
@@ -1,6 +1,5 @@
 package org.jurassicraft.server.entity.ai.metabolism;
 
-import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.item.Item;
@@ -8,12 +7,17 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import org.jurassicraft.client.model.animation.EntityAnimation;
+import org.jurassicraft.server.entity.Diet;
 import org.jurassicraft.server.entity.DinosaurEntity;
 import org.jurassicraft.server.entity.MetabolismContainer;
 import org.jurassicraft.server.entity.ai.Mutex;
-import org.jurassicraft.server.entity.ai.util.OnionTraverser;
 import org.jurassicraft.server.food.FoodHelper;
+import org.jurassicraft.server.food.FoodType;
 import org.jurassicraft.server.util.GameRuleHandler;
+import org.jurassicraft.server.world.GrazeIndex;
+
+import java.util.EnumSet;
+import java.util.Set;
 
 public class GrazeEntityAI extends EntityAIBase {
     public static final int EAT_RADIUS = 6;// was 25
@@ -50,26 +54,28 @@ public class GrazeEntityAI extends EntityAIBase {
 
             MetabolismContainer metabolism = this.dinosaur.getMetabolism();
 
-            // Look in increasing layers (e.g. boxes) around the head. Traversers... are like ogres?
-            OnionTraverser traverser = new OnionTraverser(head, LOOK_RADIUS);
+            // Look up the closest edible block around the head in the per-section grazing index
+            Set<FoodType> foodTypes = EnumSet.noneOf(FoodType.class);
+            for (Diet.DietModule module : this.dinosaur.getDinosaur().getDiet().getModules()) {
+                if (module.applies(this.dinosaur)) {
+                    foodTypes.add(module.getFoodType());
+                }
+            }
             this.target = null;
-
-            //scans all blocks around the LOOK_RADIUS
-            for (BlockPos pos : traverser) {
-                Block block = this.world.getBlockState(pos).getBlock();
-                if (FoodHelper.isEdible(this.dinosaur, this.dinosaur.getDinosaur().getDiet(), block) && pos != this.previousTarget) {
-                    this.target = pos;
-                    for (int i = 0; i < 16; i++) {
-                        IBlockState state = this.world.getBlockState(pos);
-                        if (!state.getBlock().isLeaves(state, this.world, pos) && !state.getBlock().isAir(state, this.world, pos)) {
-                            break;
-                        }
-                        pos = pos.down();
+            this.moveTarget = null;
+
+            BlockPos pos = foodTypes.isEmpty() ? null : GrazeIndex.get(this.world).getClosest(head, LOOK_RADIUS, foodTypes, this.previousTarget);
+            if (pos != null) {
+                this.target = pos;
+                for (int i = 0; i < 16; i++) {
+                    IBlockState state = this.world.getBlockState(pos);
+                    if (!state.getBlock().isLeaves(state, this.world, pos) && !state.getBlock().isAir(state, this.world, pos)) {
+                        break;
                     }
-                    this.moveTarget = pos;
-                    this.targetVec = new Vec3d(this.target.getX(), this.target.getY(), this.target.getZ());
-                    break;
+                    pos = pos.down();
                 }
+                this.moveTarget = pos;
+                this.targetVec = new Vec3d(this.target.getX(), this.target.getY(), this.target.getZ());
             }
 
             if (this.moveTarget != null) {
@@ -0,0 +1,101 @@
+package org.jurassicraft.server.entity.ai.navigation;
+
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathFinder;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import org.jurassicraft.JurassiCraft;
+import org.jurassicraft.server.conf.JurassiCraftConfig;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool for dinosaur path requests. Requests are searched against a {@link PathWorldSnapshot} and
+ * picked up by their navigator on the main thread. Only a limited number of requests start per server tick.
+ */
+public class AsyncPathfinder {
+    private static final int QUEUE_SIZE = 256;
+
+    private static ThreadPoolExecutor executor;
+
+    private static int budgetTick = -1;
+    private static int budgetUsed;
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, JurassiCraftConfig.ENTITIES.pathfindingThreads);
+            AtomicInteger count = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+                Thread thread = new Thread(runnable, "JurassiCraft Pathfinder #" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Takes one request from this tick's budget. Only called from the server thread.
+     */
+    static boolean tryAcquireBudget() {
+        MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+        int tick = server != null ? server.getTickCounter() : 0;
+        if (tick != budgetTick) {
+            budgetTick = tick;
+            budgetUsed = 0;
+        }
+        if (budgetUsed >= JurassiCraftConfig.ENTITIES.pathfindingBudget) {
+            return false;
+        }
+        budgetUsed++;
+        return true;
+    }
+
+    /**
+     * Starts searching for the request's path, returning false if the queue is full.
+     */
+    static boolean submit(Request request, PathWorldSnapshot snapshot, DinosaurWalkNodeProcessor processor, EntityLiving entity, float range) {
+        try {
+            getExecutor().execute(() -> {
+                if (!request.cancelled) {
+                    try {
+                        request.result = new PathFinder(processor).findPath(snapshot, entity, request.target, range);
+                    } catch (Exception e) {
+                        JurassiCraft.getLogger().debug("Failed to find path for " + entity, e);
+                    }
+                }
+                request.done = true;
+            });
+            request.submitted = true;
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    static class Request {
+        final BlockPos target;
+        final BlockPos origin;
+        final long time;
+        double speed;
+
+        boolean submitted;
+        volatile boolean cancelled;
+        volatile boolean done;
+        volatile Path result;
+
+        Request(BlockPos target, BlockPos origin, double speed, long time) {
+            this.target = target;
+            this.origin = origin;
+            this.speed = speed;
+            this.time = time;
+        }
+    }
+}
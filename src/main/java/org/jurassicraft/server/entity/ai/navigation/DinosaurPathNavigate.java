@@ -1,15 +1,33 @@
 package org.jurassicraft.server.entity.ai.navigation;
 
+import net.minecraft.block.material.Material;
+import net.minecraft.entity.Entity;
+import net.minecraft.pathfinding.Path;
 import net.minecraft.pathfinding.PathFinder;
 import net.minecraft.pathfinding.PathNavigateGround;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import org.jurassicraft.server.conf.JurassiCraftConfig;
 import org.jurassicraft.server.entity.DinosaurEntity;
 
+import javax.annotation.Nullable;
+
 public class DinosaurPathNavigate extends PathNavigateGround {
+    private static final int FAILED_RETRY_TICKS = 40;
+    private static final int MAX_RESULT_AGE = 40;
+    private static final double MAX_RESULT_DISTANCE_SQ = 16.0;
+    private static final double FAILED_TARGET_DISTANCE_SQ = 4.0;
+
     private DinosaurEntity dinosaur;
 
+    private AsyncPathfinder.Request request;
+    private BlockPos pathTarget;
+    private BlockPos failedTarget;
+    private long failedTime;
+    private boolean updating;
+
     public DinosaurPathNavigate(DinosaurEntity entity, World world) {
         super(entity, world);
         this.dinosaur = entity;
@@ -63,4 +81,182 @@ public class DinosaurPathNavigate extends PathNavigateGround {
     protected boolean canNavigate() {
         return !this.dinosaur.isMovementBlocked() && super.canNavigate();
     }
+
+    @Override
+    public boolean tryMoveToXYZ(double x, double y, double z, double speed) {
+        if (!this.isAsync()) {
+            return super.tryMoveToXYZ(x, y, z, speed);
+        }
+        return this.requestPath(new BlockPos(x, y, z), speed);
+    }
+
+    @Override
+    public boolean tryMoveToEntityLiving(Entity entity, double speed) {
+        if (!this.isAsync()) {
+            return super.tryMoveToEntityLiving(entity, speed);
+        }
+        return this.requestPath(new BlockPos(entity), speed);
+    }
+
+    @Override
+    public boolean setPath(@Nullable Path path, double speed) {
+        this.cancelRequest();
+        this.pathTarget = null;
+        return super.setPath(path, speed);
+    }
+
+    @Override
+    public void clearPath() {
+        this.cancelRequest();
+        super.clearPath();
+    }
+
+    /**
+     * A pending path request counts as a path for callers, but not while following the current path.
+     */
+    @Override
+    public boolean noPath() {
+        if (this.updating) {
+            return super.noPath();
+        }
+        return super.noPath() && this.request == null;
+    }
+
+    @Override
+    public void onUpdateNavigation() {
+        if (this.request != null) {
+            this.updateRequest();
+        }
+        this.updating = true;
+        try {
+            super.onUpdateNavigation();
+        } finally {
+            this.updating = false;
+        }
+    }
+
+    /**
+     * Whether tryMoveTo calls are searched on the path finding workers. Direct path requests always stay synchronous,
+     * since their callers need the result immediately.
+     */
+    protected boolean canPathAsync() {
+        return true;
+    }
+
+    public boolean isPathPending() {
+        return this.request != null;
+    }
+
+    private boolean isAsync() {
+        return JurassiCraftConfig.ENTITIES.asyncPathfinding && !this.world.isRemote && this.canPathAsync();
+    }
+
+    /**
+     * Queues a path search, returning true while the result is unknown. Once a search finds no path, requests for
+     * targets near it return false for a while, so callers retrying each tick see the failure.
+     */
+    private boolean requestPath(BlockPos pos, double speed) {
+        if (!this.canNavigate()) {
+            return false;
+        }
+        BlockPos target = this.getGroundTarget(pos);
+        long time = this.world.getTotalWorldTime();
+        if (this.failedTarget != null && time - this.failedTime < FAILED_RETRY_TICKS && target.distanceSq(this.failedTarget) <= FAILED_TARGET_DISTANCE_SQ) {
+            return false;
+        }
+        if (this.request != null && this.request.target.equals(target)) {
+            this.request.speed = speed;
+            return true;
+        }
+        if (this.currentPath != null && !this.currentPath.isFinished() && target.equals(this.pathTarget)) {
+            this.setSpeed(speed);
+            return true;
+        }
+        this.cancelRequest();
+        this.request = new AsyncPathfinder.Request(target, new BlockPos(this.entity), speed, time);
+        this.submitRequest(this.request);
+        return true;
+    }
+
+    private void updateRequest() {
+        AsyncPathfinder.Request request = this.request;
+        long time = this.world.getTotalWorldTime();
+        if (!request.submitted) {
+            if (time - request.time > MAX_RESULT_AGE) {
+                this.request = null;
+            } else {
+                this.submitRequest(request);
+            }
+        } else if (request.done) {
+            this.request = null;
+            Path path = request.result;
+            if (path == null) {
+                this.failedTarget = request.target;
+                this.failedTime = time;
+            } else if (time - request.time <= MAX_RESULT_AGE && this.canNavigate() && this.entity.getDistanceSqToCenter(request.origin) <= MAX_RESULT_DISTANCE_SQ) {
+                super.setPath(path, request.speed);
+                this.pathTarget = request.target;
+            }
+        }
+    }
+
+    private void submitRequest(AsyncPathfinder.Request request) {
+        if (!AsyncPathfinder.tryAcquireBudget()) {
+            return;
+        }
+        float range = this.getPathSearchRange();
+        int horizontal = MathHelper.ceil(range + this.entity.width) + 1;
+        int above = MathHelper.ceil(range + this.entity.height) + 1;
+        int below = MathHelper.ceil(range) + this.entity.getMaxFallHeight() + 1;
+        BlockPos origin = new BlockPos(this.entity);
+        PathWorldSnapshot snapshot = PathWorldSnapshot.create(this.world, origin.add(-horizontal, -below, -horizontal), origin.add(horizontal, above, horizontal));
+        if (snapshot == null) {
+            this.request = null;
+            if (!super.setPath(super.getPathToPos(request.target), request.speed)) {
+                this.failedTarget = request.target;
+                this.failedTime = this.world.getTotalWorldTime();
+            }
+            return;
+        }
+        DinosaurWalkNodeProcessor processor = new DinosaurWalkNodeProcessor(this.dinosaur.getDinosaur());
+        processor.setCanEnterDoors(this.nodeProcessor.getCanEnterDoors());
+        processor.setCanOpenDoors(this.nodeProcessor.getCanOpenDoors());
+        processor.setCanSwim(this.nodeProcessor.getCanSwim());
+        processor.captureEntityState(this.entity);
+        AsyncPathfinder.submit(request, snapshot, processor, this.entity, range);
+    }
+
+    private void cancelRequest() {
+        if (this.request != null) {
+            this.request.cancelled = true;
+            this.request = null;
+        }
+    }
+
+    /**
+     * Moves the target onto the ground the same way {@link PathNavigateGround#getPathToPos(BlockPos)} does.
+     */
+    private BlockPos getGroundTarget(BlockPos pos) {
+        if (this.world.getBlockState(pos).getMaterial() == Material.AIR) {
+            BlockPos ground = pos.down();
+            while (ground.getY() > 0 && this.world.getBlockState(ground).getMaterial() == Material.AIR) {
+                ground = ground.down();
+            }
+            if (ground.getY() > 0) {
+                return ground.up();
+            }
+            while (ground.getY() < this.world.getHeight() && this.world.getBlockState(ground).getMaterial() == Material.AIR) {
+                ground = ground.up();
+            }
+            pos = ground;
+        }
+        if (!this.world.getBlockState(pos).getMaterial().isSolid()) {
+            return pos;
+        }
+        BlockPos surface = pos.up();
+        while (surface.getY() < this.world.getHeight() && this.world.getBlockState(surface).getMaterial().isSolid()) {
+            surface = surface.up();
+        }
+        return surface;
+    }
 }
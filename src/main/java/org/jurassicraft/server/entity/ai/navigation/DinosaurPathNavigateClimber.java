@@ -38,6 +38,11 @@ public class DinosaurPathNavigateClimber extends DinosaurPathNavigate {
         }
     }
 
+    @Override
+    protected boolean canPathAsync() {
+        return false;
+    }
+
     @Override
     public void onUpdateNavigation() {
         if (this.noPath()) {
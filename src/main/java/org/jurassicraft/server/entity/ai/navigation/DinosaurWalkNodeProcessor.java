@@ -24,28 +24,204 @@ import org.jurassicraft.server.block.fence.ElectricFenceBaseBlock;
 import org.jurassicraft.server.block.fence.ElectricFencePoleBlock;
 import org.jurassicraft.server.block.fence.ElectricFenceWireBlock;
 import org.jurassicraft.server.dinosaur.Dinosaur;
+import org.jurassicraft.server.world.FenceHazardIndex;
+import org.jurassicraft.server.world.PathNodeIndex;
 
 import javax.annotation.Nullable;
 
+import java.util.EnumSet;
+
 public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
     private Dinosaur dinosaur;
 
+    private boolean capturedState;
+    private boolean inWater;
+    private boolean inLava;
+    private boolean onGround;
+    private double posX;
+    private double posY;
+    private double posZ;
+    private AxisAlignedBB bounds;
+    private float width;
+    private float height;
+    private float stepHeight;
+    private int maxFallHeight;
+    private final float[] priorities = new float[PathNodeType.values().length];
+
     public DinosaurWalkNodeProcessor(Dinosaur dinosaur) {
         this.dinosaur = dinosaur;
     }
 
+    /**
+     * Stores the entity state used while searching, including its position, size and path priorities, so a search on
+     * another thread never reads the live entity.
+     */
+    public void captureEntityState(EntityLiving entity) {
+        this.capturedState = true;
+        this.inWater = entity.isInWater();
+        this.inLava = entity.isInLava();
+        this.onGround = entity.onGround;
+        this.posX = entity.posX;
+        this.posY = entity.posY;
+        this.posZ = entity.posZ;
+        this.bounds = entity.getEntityBoundingBox();
+        this.width = entity.width;
+        this.height = entity.height;
+        this.stepHeight = entity.stepHeight;
+        this.maxFallHeight = entity.getMaxFallHeight();
+        for (PathNodeType type : PathNodeType.values()) {
+            this.priorities[type.ordinal()] = entity.getPathPriority(type);
+        }
+    }
+
+    @Override
+    public void init(IBlockAccess world, EntityLiving entity) {
+        if (!this.capturedState) {
+            super.init(world, entity);
+            return;
+        }
+        this.blockaccess = world;
+        this.entity = entity;
+        this.pointMap.clearMap();
+        this.entitySizeX = MathHelper.floor(this.width + 1.0F);
+        this.entitySizeY = MathHelper.floor(this.height + 1.0F);
+        this.entitySizeZ = MathHelper.floor(this.width + 1.0F);
+    }
+
+    /**
+     * Vanilla restores the entity's water priority here, which must not happen from a pathfinder thread.
+     */
+    @Override
+    public void postProcess() {
+        if (!this.capturedState) {
+            super.postProcess();
+            return;
+        }
+        this.blockaccess = null;
+        this.entity = null;
+    }
+
+    @Override
+    public PathPoint getStart() {
+        if (!this.capturedState) {
+            return super.getStart();
+        }
+        int y;
+        if (this.getCanSwim() && this.inWater) {
+            y = (int) this.bounds.minY;
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos(MathHelper.floor(this.posX), y, MathHelper.floor(this.posZ));
+            for (Block block = this.blockaccess.getBlockState(pos).getBlock(); block == Blocks.FLOWING_WATER || block == Blocks.WATER; block = this.blockaccess.getBlockState(pos).getBlock()) {
+                pos.setPos(MathHelper.floor(this.posX), ++y, MathHelper.floor(this.posZ));
+            }
+        } else if (this.onGround) {
+            y = MathHelper.floor(this.bounds.minY + 0.5);
+        } else {
+            BlockPos pos = new BlockPos(this.posX, this.posY, this.posZ);
+            while ((this.blockaccess.getBlockState(pos).getMaterial() == Material.AIR || this.blockaccess.getBlockState(pos).getBlock().isPassable(this.blockaccess, pos)) && pos.getY() > 0) {
+                pos = pos.down();
+            }
+            y = pos.up().getY();
+        }
+
+        BlockPos start = new BlockPos(this.posX, y, this.posZ);
+        if (this.getPriority(this.getPathNodeType(this.entity, start.getX(), y, start.getZ())) < 0.0F) {
+            BlockPos[] corners = new BlockPos[] {
+                    new BlockPos(this.bounds.minX, y, this.bounds.minZ),
+                    new BlockPos(this.bounds.minX, y, this.bounds.maxZ),
+                    new BlockPos(this.bounds.maxX, y, this.bounds.minZ),
+                    new BlockPos(this.bounds.maxX, y, this.bounds.maxZ)
+            };
+            for (BlockPos corner : corners) {
+                if (this.getPriority(this.getPathNodeType(this.entity, corner.getX(), corner.getY(), corner.getZ())) >= 0.0F) {
+                    return this.openPoint(corner.getX(), corner.getY(), corner.getZ());
+                }
+            }
+        }
+        return this.openPoint(start.getX(), y, start.getZ());
+    }
+
+    @Override
+    public PathPoint getPathPointToCoords(double x, double y, double z) {
+        double halfWidth = this.getWidth() / 2.0;
+        return this.openPoint(MathHelper.floor(x - halfWidth), MathHelper.floor(y), MathHelper.floor(z - halfWidth));
+    }
+
+    /**
+     * Combines the node types of every block the entity would occupy, using the captured priorities and position when
+     * searching on a pathfinder thread.
+     */
+    @Override
+    public PathNodeType getPathNodeType(IBlockAccess world, int x, int y, int z, EntityLiving entity, int sizeX, int sizeY, int sizeZ, boolean canBreakDoors, boolean canEnterDoors) {
+        if (!this.capturedState) {
+            return super.getPathNodeType(world, x, y, z, entity, sizeX, sizeY, sizeZ, canBreakDoors, canEnterDoors);
+        }
+        BlockPos position = new BlockPos(this.posX, this.posY, this.posZ);
+        boolean onRail = world.getBlockState(position).getBlock() instanceof BlockRailBase || world.getBlockState(position.down()).getBlock() instanceof BlockRailBase;
+        EnumSet<PathNodeType> types = EnumSet.noneOf(PathNodeType.class);
+        PathNodeType origin = PathNodeType.BLOCKED;
+        for (int offsetX = 0; offsetX < sizeX; offsetX++) {
+            for (int offsetY = 0; offsetY < sizeY; offsetY++) {
+                for (int offsetZ = 0; offsetZ < sizeZ; offsetZ++) {
+                    PathNodeType type = this.getPathNodeType(world, x + offsetX, y + offsetY, z + offsetZ);
+                    if (type == PathNodeType.DOOR_WOOD_CLOSED && canBreakDoors && canEnterDoors) {
+                        type = PathNodeType.WALKABLE;
+                    }
+                    if (type == PathNodeType.DOOR_OPEN && !canEnterDoors) {
+                        type = PathNodeType.BLOCKED;
+                    }
+                    if (type == PathNodeType.RAIL && !onRail) {
+                        type = PathNodeType.FENCE;
+                    }
+                    if (offsetX == 0 && offsetY == 0 && offsetZ == 0) {
+                        origin = type;
+                    }
+                    types.add(type);
+                }
+            }
+        }
+        if (types.contains(PathNodeType.FENCE)) {
+            return PathNodeType.FENCE;
+        }
+        PathNodeType result = PathNodeType.BLOCKED;
+        for (PathNodeType type : types) {
+            float priority = this.getPriority(type);
+            if (priority < 0.0F) {
+                return type;
+            }
+            if (priority >= this.getPriority(result)) {
+                result = type;
+            }
+        }
+        return origin == PathNodeType.OPEN && this.getPriority(result) == 0.0F ? PathNodeType.OPEN : result;
+    }
+
+    private float getPriority(PathNodeType type) {
+        return this.capturedState ? this.priorities[type.ordinal()] : this.entity.getPathPriority(type);
+    }
+
+    private float getWidth() {
+        return this.capturedState ? this.width : this.entity.width;
+    }
+
+    private float getHeight() {
+        return this.capturedState ? this.height : this.entity.height;
+    }
+
     @Override
     public int findPathOptions(PathPoint[] pathOptions, PathPoint currentPoint, PathPoint targetPoint, float maxDistance) {
         int optionIndex = 0;
         int stepHeight = 0;
         PathNodeType type = this.getPathNodeType(this.entity, currentPoint.x, currentPoint.y + 1, currentPoint.z);
 
-        if (this.entity.getPathPriority(type) >= 0.0F) {
-            stepHeight = MathHelper.floor(Math.max(1.0F, this.entity.stepHeight));
+        if (this.getPriority(type) >= 0.0F) {
+            stepHeight = MathHelper.floor(Math.max(1.0F, this.capturedState ? this.stepHeight : this.entity.stepHeight));
         }
 
         int jumpHeight = this.dinosaur.getJumpHeight();
-        if (!this.entity.isInWater() && !this.entity.isInLava() && this.entity.onGround && jumpHeight > 0 && jumpHeight > stepHeight) {
+        boolean inWater = this.capturedState ? this.inWater : this.entity.isInWater();
+        boolean inLava = this.capturedState ? this.inLava : this.entity.isInLava();
+        boolean onGround = this.capturedState ? this.onGround : this.entity.onGround;
+        if (!inWater && !inLava && onGround && jumpHeight > 0 && jumpHeight > stepHeight) {
             stepHeight = jumpHeight + 1;
         }
 
@@ -123,8 +299,8 @@ public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
             return null;
         } else {
             PathNodeType type = this.getPathNodeType(this.entity, x, y, z);
-            float priority = this.entity.getPathPriority(type);
-            double halfWidth = this.entity.width / 2.0;
+            float priority = this.getPriority(type);
+            double halfWidth = this.getWidth() / 2.0;
 
             if (priority >= 0.0F) {
                 point = this.openPoint(x, y, z);
@@ -138,27 +314,27 @@ public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
                 if (point == null && stepHeight > 0 && type != PathNodeType.FENCE && type != PathNodeType.TRAPDOOR) {
                     point = this.getSafePoint(x, y + 1, z, stepHeight - 1, currentGroundY, facing);
 
-                    if (point != null && (point.nodeType == PathNodeType.OPEN || point.nodeType == PathNodeType.WALKABLE) && this.entity.width < 1.0F) {
+                    if (point != null && (point.nodeType == PathNodeType.OPEN || point.nodeType == PathNodeType.WALKABLE) && this.getWidth() < 1.0F) {
                         double pointX = (x - facing.getFrontOffsetX()) + 0.5;
                         double pointZ = (z - facing.getFrontOffsetZ()) + 0.5;
-                        AxisAlignedBB boundsAtPoint = new AxisAlignedBB(pointX - halfWidth, y + 0.001, pointZ - halfWidth, pointX + halfWidth, (y + this.entity.height), pointZ + halfWidth);
+                        AxisAlignedBB boundsAtPoint = new AxisAlignedBB(pointX - halfWidth, y + 0.001, pointZ - halfWidth, pointX + halfWidth, (y + this.getHeight()), pointZ + halfWidth);
                         AxisAlignedBB pointBlockBounds = this.blockaccess.getBlockState(pos).getBoundingBox(this.blockaccess, pos);
                         AxisAlignedBB boundsAtGroundPoint = boundsAtPoint.expand(0.0, pointBlockBounds.maxY - 0.002, 0.0);
 
-                        if (this.entity.world.collidesWithAnyBlock(boundsAtGroundPoint)) {
+                        if (this.collidesWithAnyBlock(boundsAtGroundPoint)) {
                             point = null;
                         }
                     }
                 }
 
                 if (type == PathNodeType.OPEN) {
-                    AxisAlignedBB boundsAtPoint = new AxisAlignedBB(x - halfWidth + 0.5, y + 0.001, z - halfWidth + 0.5, x + halfWidth + 0.5, (y + this.entity.height), z + halfWidth + 0.5);
+                    AxisAlignedBB boundsAtPoint = new AxisAlignedBB(x - halfWidth + 0.5, y + 0.001, z - halfWidth + 0.5, x + halfWidth + 0.5, (y + this.getHeight()), z + halfWidth + 0.5);
 
-                    if (this.entity.world.collidesWithAnyBlock(boundsAtPoint)) {
+                    if (this.collidesWithAnyBlock(boundsAtPoint)) {
                         return null;
                     }
 
-                    if (this.entity.width >= 1.0F) {
+                    if (this.getWidth() >= 1.0F) {
                         PathNodeType groundType = this.getPathNodeType(this.entity, x, y - 1, z);
 
                         if (groundType == PathNodeType.BLOCKED) {
@@ -174,12 +350,12 @@ public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
                     while (y > 0 && type == PathNodeType.OPEN) {
                         --y;
 
-                        if (i++ >= this.entity.getMaxFallHeight()) {
+                        if (i++ >= (this.capturedState ? this.maxFallHeight : this.entity.getMaxFallHeight())) {
                             return null;
                         }
 
                         type = this.getPathNodeType(this.entity, x, y, z);
-                        priority = this.entity.getPathPriority(type);
+                        priority = this.getPriority(type);
 
                         if (type != PathNodeType.OPEN && priority >= 0.0F) {
                             point = this.openPoint(x, y, z);
@@ -199,13 +375,57 @@ public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
         }
     }
 
+    private boolean collidesWithAnyBlock(AxisAlignedBB bounds) {
+        if (this.blockaccess instanceof PathWorldSnapshot) {
+            return ((PathWorldSnapshot) this.blockaccess).collidesWithAnyBlock(bounds);
+        }
+        return this.entity.world.collidesWithAnyBlock(bounds);
+    }
+
     @Override
     public PathNodeType getPathNodeType(IBlockAccess world, int x, int y, int z) {
-        PathNodeType nodeType = this.getPathNodeTypeRaw(world, x, y, z);
+        PathNodeIndex index = this.getNodeIndex(world);
+        if (index != null && index.canCache(x, y, z)) {
+            PathNodeType type = index.getType(x, y, z);
+            if (type == null) {
+                type = this.computePathNodeType(this.entity.world, x, y, z, index);
+                index.setType(x, y, z, type);
+            }
+            return type;
+        }
+        return this.computePathNodeType(world, x, y, z, null);
+    }
+
+    /**
+     * Returns the shared node type cache when searching the live server world. Searches against a snapshot run on
+     * pathfinder threads and never use it.
+     */
+    @Nullable
+    private PathNodeIndex getNodeIndex(IBlockAccess world) {
+        if (world instanceof PathWorldSnapshot || this.entity == null || this.entity.world.isRemote) {
+            return null;
+        }
+        return PathNodeIndex.get(this.entity.world);
+    }
+
+    private PathNodeType getRawType(IBlockAccess world, int x, int y, int z, @Nullable PathNodeIndex index) {
+        if (index != null) {
+            PathNodeType type = index.getRawType(x, y, z);
+            if (type == null) {
+                type = this.getPathNodeTypeRaw(world, x, y, z);
+                index.setRawType(x, y, z, type);
+            }
+            return type;
+        }
+        return this.getPathNodeTypeRaw(world, x, y, z);
+    }
+
+    private PathNodeType computePathNodeType(IBlockAccess world, int x, int y, int z, @Nullable PathNodeIndex index) {
+        PathNodeType nodeType = this.getRawType(world, x, y, z, index);
 
         if (nodeType == PathNodeType.OPEN && y >= 1) {
             Block block = world.getBlockState(new BlockPos(x, y - 1, z)).getBlock();
-            PathNodeType groundNodeType = this.getPathNodeTypeRaw(world, x, y - 1, z);
+            PathNodeType groundNodeType = this.getRawType(world, x, y - 1, z, index);
             nodeType = groundNodeType != PathNodeType.WALKABLE && groundNodeType != PathNodeType.OPEN && groundNodeType != PathNodeType.WATER && groundNodeType != PathNodeType.LAVA ? PathNodeType.WALKABLE : PathNodeType.OPEN;
 
             if (groundNodeType == PathNodeType.DAMAGE_FIRE || block == Blocks.MAGMA) {
@@ -229,11 +449,8 @@ public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
                             nodeType = PathNodeType.DANGER_CACTUS;
                         } else if (block == Blocks.FIRE) {
                             nodeType = PathNodeType.DANGER_FIRE;
-                        } else if (block instanceof ElectricFenceWireBlock) {
-                            TileEntity entity = world.getTileEntity(pool);
-                            if (entity instanceof ElectricFenceWireBlockEntity && ((ElectricFenceWireBlockEntity) entity).isPowered()) {
-                                nodeType = PathNodeType.DAMAGE_CACTUS;
-                            }
+                        } else if (block instanceof ElectricFenceWireBlock && this.isPoweredWire(world, pool)) {
+                            nodeType = PathNodeType.DAMAGE_CACTUS;
                         }
                     }
                 }
@@ -244,6 +461,20 @@ public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
         return nodeType;
     }
 
+    /**
+     * Checks the fence hazard bitmap for a powered wire, falling back to the wire's block entity on the client.
+     */
+    private boolean isPoweredWire(IBlockAccess world, BlockPos pos) {
+        if (world instanceof PathWorldSnapshot) {
+            return ((PathWorldSnapshot) world).isFenceHazard(pos);
+        }
+        if (this.entity != null && !this.entity.world.isRemote) {
+            return FenceHazardIndex.get(this.entity.world).isHazard(pos);
+        }
+        TileEntity entity = world.getTileEntity(pos);
+        return entity instanceof ElectricFenceWireBlockEntity && ((ElectricFenceWireBlockEntity) entity).isPowered();
+    }
+
     // TODO: getCanBreakDoors gone???
     private PathNodeType getPathNodeType(EntityLiving entity, int x, int y, int z) {
         return this.getPathNodeType(this.blockaccess, x, y, z, entity, this.entitySizeX, this.entitySizeY, this.entitySizeZ, this.canEnterDoors, this.getCanEnterDoors());
@@ -268,11 +499,8 @@ public class DinosaurWalkNodeProcessor extends WalkNodeProcessor {
 
         if (block == Blocks.CACTUS || block instanceof ElectricFenceBaseBlock || block instanceof ElectricFencePoleBlock) {
             return PathNodeType.DAMAGE_CACTUS;
-        } else if (block instanceof ElectricFenceWireBlock) {
-            TileEntity entity = access.getTileEntity(pos);
-            if (entity instanceof ElectricFenceWireBlockEntity && ((ElectricFenceWireBlockEntity) entity).isPowered()) {
-                return PathNodeType.DAMAGE_CACTUS;
-            }
+        } else if (block instanceof ElectricFenceWireBlock && this.isPoweredWire(access, pos)) {
+            return PathNodeType.DAMAGE_CACTUS;
         }
 
         if (block instanceof BlockDoor) {
@@ -0,0 +1,286 @@
+package org.jurassicraft.server.entity.ai.navigation;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockFence;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.jurassicraft.server.world.FenceHazardIndex;
+import org.jurassicraft.server.world.PaletteAccess;
+import org.jurassicraft.server.world.SectionIndex;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copy of the blocks in a box that a path finder can read from another thread. Each section's packed block storage,
+ * palette and fence hazard bits are copied, so the snapshot does not change when the world does. Section copies are
+ * shared by every snapshot created in the same tick, so nearby dinosaurs requesting paths together copy each section
+ * once. Tile entities are kept by reference.
+ */
+public class PathWorldSnapshot implements IBlockAccess {
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+
+    private static final Map<Long, Section> SHARED_SECTIONS = new HashMap<>();
+    private static final Map<Long, long[]> SHARED_HAZARDS = new HashMap<>();
+    private static WeakReference<World> sharedWorld = new WeakReference<>(null);
+    private static long sharedTime = -1;
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final Section[] sections;
+    private final long[][] hazards;
+    private final Map<BlockPos, TileEntity> tileEntities = new HashMap<>();
+    private final WorldType worldType;
+
+    private PathWorldSnapshot(World world, int chunkX, int chunkZ, int sizeX, int sizeZ) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.sections = new Section[sizeX * sizeZ * 16];
+        this.hazards = new long[sizeX * sizeZ * 16][];
+        this.worldType = world.getWorldInfo().getTerrainType();
+    }
+
+    /**
+     * Copies the loaded blocks between the given corners, or returns null if section storage cannot be accessed.
+     * Only called from the server thread.
+     */
+    @Nullable
+    public static PathWorldSnapshot create(World world, BlockPos min, BlockPos max) {
+        if (!PaletteAccess.isAvailable()) {
+            return null;
+        }
+        if (sharedWorld.get() != world || sharedTime != world.getTotalWorldTime()) {
+            SHARED_SECTIONS.clear();
+            SHARED_HAZARDS.clear();
+            sharedWorld = new WeakReference<>(world);
+            sharedTime = world.getTotalWorldTime();
+        }
+        int minChunkX = min.getX() >> 4;
+        int minChunkZ = min.getZ() >> 4;
+        int maxChunkX = max.getX() >> 4;
+        int maxChunkZ = max.getZ() >> 4;
+        int minSection = MathHelper.clamp(min.getY() >> 4, 0, 15);
+        int maxSection = MathHelper.clamp(max.getY() >> 4, 0, 15);
+        PathWorldSnapshot snapshot = new PathWorldSnapshot(world, minChunkX, minChunkZ, maxChunkX - minChunkX + 1, maxChunkZ - minChunkZ + 1);
+        FenceHazardIndex hazards = FenceHazardIndex.get(world);
+        try {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+                    if (chunk != null) {
+                        snapshot.copyChunk(chunk, hazards, minSection, maxSection, min, max);
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    private void copyChunk(Chunk chunk, FenceHazardIndex hazards, int minSection, int maxSection, BlockPos min, BlockPos max) throws IllegalAccessException {
+        ExtendedBlockStorage[] storages = chunk.getBlockStorageArray();
+        for (int sectionY = minSection; sectionY <= maxSection; sectionY++) {
+            long key = SectionIndex.key(chunk.x, sectionY, chunk.z);
+            Section section = SHARED_SECTIONS.get(key);
+            if (section == null && !SHARED_SECTIONS.containsKey(key)) {
+                ExtendedBlockStorage storage = storages[sectionY];
+                if (storage != Chunk.NULL_BLOCK_STORAGE && !storage.isEmpty()) {
+                    section = new Section(storage.getData());
+                    SHARED_HAZARDS.put(key, hazards.copySection(chunk.x, sectionY, chunk.z));
+                }
+                SHARED_SECTIONS.put(key, section);
+            }
+            if (section != null) {
+                int index = this.getIndex(chunk.x, sectionY, chunk.z);
+                this.sections[index] = section;
+                this.hazards[index] = SHARED_HAZARDS.get(key);
+            }
+        }
+        for (Map.Entry<BlockPos, TileEntity> entry : chunk.getTileEntityMap().entrySet()) {
+            BlockPos pos = entry.getKey();
+            if (pos.getX() >= min.getX() && pos.getY() >= min.getY() && pos.getZ() >= min.getZ() && pos.getX() <= max.getX() && pos.getY() <= max.getY() && pos.getZ() <= max.getZ()) {
+                this.tileEntities.put(pos, entry.getValue());
+            }
+        }
+    }
+
+    private int getIndex(int chunkX, int sectionY, int chunkZ) {
+        return ((chunkX - this.chunkX) * this.sizeZ + (chunkZ - this.chunkZ)) * 16 + sectionY;
+    }
+
+    @Override
+    public IBlockState getBlockState(BlockPos pos) {
+        int chunkX = pos.getX() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+        int sectionY = pos.getY() >> 4;
+        if (chunkX < this.chunkX || chunkZ < this.chunkZ || chunkX >= this.chunkX + this.sizeX || chunkZ >= this.chunkZ + this.sizeZ || sectionY < 0 || sectionY > 15) {
+            return AIR;
+        }
+        Section section = this.sections[this.getIndex(chunkX, sectionY, chunkZ)];
+        if (section == null) {
+            return AIR;
+        }
+        return section.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+    }
+
+    /**
+     * Returns whether the given block was marked in the {@link FenceHazardIndex} when the snapshot was taken.
+     */
+    public boolean isFenceHazard(BlockPos pos) {
+        int chunkX = pos.getX() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+        int sectionY = pos.getY() >> 4;
+        if (chunkX < this.chunkX || chunkZ < this.chunkZ || chunkX >= this.chunkX + this.sizeX || chunkZ >= this.chunkZ + this.sizeZ || sectionY < 0 || sectionY > 15) {
+            return false;
+        }
+        long[] bits = this.hazards[this.getIndex(chunkX, sectionY, chunkZ)];
+        if (bits == null) {
+            return false;
+        }
+        int index = FenceHazardIndex.index(pos.getX(), pos.getY(), pos.getZ());
+        return (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Returns whether any block collision box intersects the given box, checking the same blocks as
+     * {@link World#collidesWithAnyBlock(AxisAlignedBB)}. Collision boxes are computed against the snapshot so the
+     * search never reads the world. Blocks with several boxes are checked against their single collision box, with
+     * fences raised to their full height.
+     */
+    public boolean collidesWithAnyBlock(AxisAlignedBB box) {
+        int minX = MathHelper.floor(box.minX) - 1;
+        int minY = MathHelper.floor(box.minY) - 1;
+        int minZ = MathHelper.floor(box.minZ) - 1;
+        int maxX = MathHelper.ceil(box.maxX) + 1;
+        int maxY = MathHelper.ceil(box.maxY) + 1;
+        int maxZ = MathHelper.ceil(box.maxZ) + 1;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = minX; x < maxX; x++) {
+            for (int y = minY; y < maxY; y++) {
+                for (int z = minZ; z < maxZ; z++) {
+                    pos.setPos(x, y, z);
+                    IBlockState state = this.getBlockState(pos);
+                    if (state.getMaterial() != Material.AIR) {
+                        AxisAlignedBB collision = state.getActualState(this, pos).getCollisionBoundingBox(this, pos);
+                        if (collision != null) {
+                            if (state.getBlock() instanceof BlockFence) {
+                                collision = collision.setMaxY(1.5);
+                            }
+                            if (collision.offset(pos).intersects(box)) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public TileEntity getTileEntity(BlockPos pos) {
+        return this.tileEntities.get(pos);
+    }
+
+    @Override
+    @SideOnly(Side.CLIENT)
+    public int getCombinedLight(BlockPos pos, int lightValue) {
+        return 0;
+    }
+
+    @Override
+    public boolean isAirBlock(BlockPos pos) {
+        IBlockState state = this.getBlockState(pos);
+        return state.getBlock().isAir(state, this, pos);
+    }
+
+    @Override
+    @SideOnly(Side.CLIENT)
+    public Biome getBiome(BlockPos pos) {
+        return Biomes.PLAINS;
+    }
+
+    @Override
+    public int getStrongPower(BlockPos pos, EnumFacing direction) {
+        return this.getBlockState(pos).getStrongPower(this, pos, direction);
+    }
+
+    @Override
+    @SideOnly(Side.CLIENT)
+    public WorldType getWorldType() {
+        return this.worldType;
+    }
+
+    @Override
+    public boolean isSideSolid(BlockPos pos, EnumFacing side, boolean _default) {
+        int chunkX = pos.getX() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+        if (chunkX < this.chunkX || chunkZ < this.chunkZ || chunkX >= this.chunkX + this.sizeX || chunkZ >= this.chunkZ + this.sizeZ) {
+            return _default;
+        }
+        return this.getBlockState(pos).isSideSolid(this, pos, side);
+    }
+
+    private static class Section {
+        private final long[] data;
+        private final int bits;
+        private final long mask;
+        private final IBlockState[] palette;
+
+        private Section(BlockStateContainer container) throws IllegalAccessException {
+            this.data = PaletteAccess.getStorage(container).getBackingLongArray().clone();
+            this.bits = PaletteAccess.getBits(container);
+            this.mask = (1L << this.bits) - 1L;
+            if (this.bits <= 8) {
+                IBlockStatePalette palette = PaletteAccess.getPalette(container);
+                this.palette = new IBlockState[1 << this.bits];
+                for (int id = 0; id < this.palette.length; id++) {
+                    this.palette[id] = palette.getBlockState(id);
+                }
+            } else {
+                this.palette = null;
+            }
+        }
+
+        private IBlockState get(int x, int y, int z) {
+            int index = y << 8 | z << 4 | x;
+            int bitIndex = index * this.bits;
+            int start = bitIndex >> 6;
+            int end = ((index + 1) * this.bits - 1) >> 6;
+            int offset = bitIndex ^ start << 6;
+            int id;
+            if (start == end) {
+                id = (int) (this.data[start] >>> offset & this.mask);
+            } else {
+                id = (int) ((this.data[start] >>> offset | this.data[end] << (64 - offset)) & this.mask);
+            }
+            IBlockState state = this.palette != null ? this.palette[id] : Block.BLOCK_STATE_IDS.getByValue(id);
+            return state != null ? state : AIR;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.jurassicraft.server.entity.ai.util;
+
+import com.google.common.base.Predicate;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of the entities around an entity, taken at most once per tick over a box large enough for every AI query
+ * of that entity. Bounding boxes are copied into primitive arrays, and queries filter the snapshot instead of walking
+ * the world's chunk entity lists again.
+ */
+public class Neighborhood {
+    private static final double RANGE_XZ = 16.0;
+    private static final double RANGE_DOWN = 16.0;
+    private static final double RANGE_UP = 40.0;
+
+    private final Entity owner;
+
+    private Entity[] entities = new Entity[16];
+    private double[] minX = new double[16];
+    private double[] minY = new double[16];
+    private double[] minZ = new double[16];
+    private double[] maxX = new double[16];
+    private double[] maxY = new double[16];
+    private double[] maxZ = new double[16];
+    private int size;
+
+    private long snapshotTime = Long.MIN_VALUE;
+
+    public Neighborhood(Entity owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the entities of the given class intersecting the box that are not spectating, like
+     * {@link World#getEntitiesWithinAABB(Class, AxisAlignedBB)}.
+     */
+    public <T extends Entity> List<T> getEntities(Class<? extends T> clazz, AxisAlignedBB box) {
+        return this.getEntities(clazz, box, EntitySelectors.NOT_SPECTATING);
+    }
+
+    /**
+     * Returns the entities of the given class intersecting the box that match the filter. The box has to lie within
+     * 16 blocks of the owner horizontally and below it, and 40 blocks above it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> List<T> getEntities(Class<? extends T> clazz, AxisAlignedBB box, Predicate<? super T> filter) {
+        this.update();
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < this.size; i++) {
+            Entity entity = this.entities[i];
+            if (box.minX < this.maxX[i] && box.maxX > this.minX[i] && box.minY < this.maxY[i] && box.maxY > this.minY[i] && box.minZ < this.maxZ[i] && box.maxZ > this.minZ[i]) {
+                if (!entity.isDead && clazz.isInstance(entity) && (filter == null || filter.apply((T) entity))) {
+                    result.add((T) entity);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void update() {
+        long time = this.owner.world.getTotalWorldTime();
+        if (time == this.snapshotTime) {
+            return;
+        }
+        this.snapshotTime = time;
+
+        for (int i = 0; i < this.size; i++) {
+            this.entities[i] = null;
+        }
+        this.size = 0;
+
+        AxisAlignedBB bounds = this.owner.getEntityBoundingBox();
+        AxisAlignedBB area = new AxisAlignedBB(bounds.minX - RANGE_XZ, bounds.minY - RANGE_DOWN, bounds.minZ - RANGE_XZ, bounds.maxX + RANGE_XZ, bounds.maxY + RANGE_UP, bounds.maxZ + RANGE_XZ);
+
+        World world = this.owner.world;
+        int minChunkX = MathHelper.floor((area.minX - World.MAX_ENTITY_RADIUS) / 16.0);
+        int maxChunkX = MathHelper.floor((area.maxX + World.MAX_ENTITY_RADIUS) / 16.0);
+        int minChunkZ = MathHelper.floor((area.minZ - World.MAX_ENTITY_RADIUS) / 16.0);
+        int maxChunkZ = MathHelper.floor((area.maxZ + World.MAX_ENTITY_RADIUS) / 16.0);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+                if (chunk != null) {
+                    this.collect(chunk, area);
+                }
+            }
+        }
+    }
+
+    private void collect(Chunk chunk, AxisAlignedBB area) {
+        ClassInheritanceMultiMap<Entity>[] lists = chunk.getEntityLists();
+        int minSection = MathHelper.clamp(MathHelper.floor((area.minY - World.MAX_ENTITY_RADIUS) / 16.0), 0, lists.length - 1);
+        int maxSection = MathHelper.clamp(MathHelper.floor((area.maxY + World.MAX_ENTITY_RADIUS) / 16.0), 0, lists.length - 1);
+        for (int section = minSection; section <= maxSection; section++) {
+            for (Entity entity : lists[section]) {
+                AxisAlignedBB bounds = entity.getEntityBoundingBox();
+                if (bounds.intersects(area)) {
+                    this.add(entity, bounds);
+                }
+            }
+        }
+    }
+
+    private void add(Entity entity, AxisAlignedBB bounds) {
+        if (this.size == this.entities.length) {
+            int capacity = this.size * 2;
+            Entity[] entities = new Entity[capacity];
+            System.arraycopy(this.entities, 0, entities, 0, this.size);
+            this.entities = entities;
+            this.minX = grow(this.minX, capacity);
+            this.minY = grow(this.minY, capacity);
+            this.minZ = grow(this.minZ, capacity);
+            this.maxX = grow(this.maxX, capacity);
+            this.maxY = grow(this.maxY, capacity);
+            this.maxZ = grow(this.maxZ, capacity);
+        }
+        int index = this.size++;
+        this.entities[index] = entity;
+        this.minX[index] = bounds.minX;
+        this.minY[index] = bounds.minY;
+        this.minZ[index] = bounds.minZ;
+        this.maxX[index] = bounds.maxX;
+        this.maxY[index] = bounds.maxY;
+        this.maxZ[index] = bounds.maxZ;
+    }
+
+    private static double[] grow(double[] array, int capacity) {
+        double[] grown = new double[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -92,7 +92,7 @@ public class DinosaurEggEntity extends Entity implements IEntityAdditionalSpawnD
             ItemStack eggStack = new ItemStack(ItemHandler.EGG, 1, EntityHandler.getDinosaurId(this.entity.getDinosaur()));
             NBTTagCompound nbt = new NBTTagCompound();
             nbt.setInteger("DNAQuality", this.entity.getDNAQuality());
-            nbt.setString("Genetics", this.entity.getGenetics());
+            this.entity.getGenetics().writeToNBT(nbt);
             eggStack.setTagCompound(nbt);
             this.entityDropItem(eggStack, 0.1F);
             this.setDead();
@@ -3,6 +3,7 @@ package org.jurassicraft.server.event;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.Item;
@@ -14,17 +15,21 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeDecorator;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.feature.WorldGenMinable;
 import net.minecraft.world.storage.loot.LootTable;
 import net.minecraftforge.common.BiomeDictionary;
 import net.minecraftforge.event.LootTableLoadEvent;
+import net.minecraftforge.event.entity.EntityEvent;
 import net.minecraftforge.event.entity.living.LivingFallEvent;
 import net.minecraftforge.event.terraingen.DecorateBiomeEvent;
 import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jurassicraft.JurassiCraft;
 import org.jurassicraft.server.block.BlockHandler;
 import org.jurassicraft.server.block.FossilizedTrackwayBlock;
@@ -34,7 +39,10 @@ import org.jurassicraft.server.entity.vehicle.CarEntity;
 import org.jurassicraft.server.entity.vehicle.HelicopterEntity;
 import org.jurassicraft.server.item.ItemHandler;
 import org.jurassicraft.server.util.GameRuleHandler;
+import org.jurassicraft.server.world.DormantIndex;
 import org.jurassicraft.server.world.WorldGenCoal;
+import org.jurassicraft.server.world.WorldIndexListener;
+import org.jurassicraft.server.world.WorldIndexRegistry;
 import org.jurassicraft.server.world.loot.Loot;
 
 import java.util.ArrayList;
@@ -46,6 +54,44 @@ public class ServerEventHandler {
     @SubscribeEvent
     public void onWorldLoad(WorldEvent.Load event) {
         GameRuleHandler.register(event.getWorld());
+
+        if (!event.getWorld().isRemote) {
+            event.getWorld().addEventListener(new WorldIndexListener(event.getWorld()));
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        WorldIndexRegistry.unload(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public void onEnteringChunk(EntityEvent.EnteringChunk event) {
+        Entity entity = event.getEntity();
+        if (entity instanceof EntityLiving && !entity.world.isRemote) {
+            DormantIndex dormant = DormantIndex.getIfPresent(entity.world);
+            if (dormant != null) {
+                dormant.onEntityEnteredChunk(entity, event.getNewChunkX(), event.getNewChunkZ());
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        World world = event.getWorld();
+        if (!world.isRemote) {
+            Chunk chunk = event.getChunk();
+            WorldIndexRegistry.forEach(world, index -> index.onChunkUnload(chunk.x, chunk.z));
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event) {
+        World world = event.world;
+        if (event.phase != TickEvent.Phase.END || world.isRemote) {
+            return;
+        }
+        WorldIndexRegistry.forEach(world, index -> index.update(world));
     }
 
     @SubscribeEvent(priority = EventPriority.NORMAL)
@@ -22,18 +22,25 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class FoodHelper {
     private static final Map<FoodType, List<FoodKey>> FOOD_TYPES = new EnumMap<>(FoodType.class);
-    private static final List<FoodKey> FOODS = new LinkedList<>();
+    private static final Set<FoodKey> FOODS = new HashSet<>();
     private static final Map<FoodKey, Integer> HEAL_AMOUNTS = new HashMap<>();
     private static final Map<FoodKey, FoodEffect[]> FOOD_EFFECTS = new HashMap<>();
 
+    private static final FoodEffect[] NO_EFFECTS = new FoodEffect[0];
+
+    private static boolean compiled;
+    private static Map<Item, CompiledFood> itemFoods = new IdentityHashMap<>();
+    private static Map<Block, FoodType> blockTypes = new IdentityHashMap<>();
+
     public static void init() {
         registerFood(Blocks.LEAVES, FoodType.PLANT, 2000);
         registerFood(Blocks.LEAVES2, FoodType.PLANT, 2000);
@@ -95,6 +102,44 @@ public class FoodHelper {
                 registerFoodAuto(food, food.isWolfsFavoriteMeat() ? FoodType.MEAT : FoodType.PLANT);
             }
         }
+
+        compile();
+    }
+
+    /**
+     * Flattens the registered foods into tables keyed by item and block identity, so lookups from block scans, item
+     * pickups and feeder checks don't allocate and stay valid when registry ids are remapped.
+     */
+    private static void compile() {
+        Map<FoodKey, FoodType> types = new HashMap<>();
+        for (Map.Entry<FoodType, List<FoodKey>> entry : FOOD_TYPES.entrySet()) {
+            for (FoodKey key : entry.getValue()) {
+                types.put(key, entry.getKey());
+            }
+        }
+
+        Map<Item, CompiledFood> itemFoods = new IdentityHashMap<>();
+        Map<Block, FoodType> blockTypes = new IdentityHashMap<>();
+        for (Map.Entry<FoodKey, FoodType> entry : types.entrySet()) {
+            FoodKey key = entry.getKey();
+            if (key.item != null) {
+                FoodEffect[] effects = FOOD_EFFECTS.get(key);
+                itemFoods.put(key.item, new CompiledFood(entry.getValue(), HEAL_AMOUNTS.getOrDefault(key, 0), effects != null ? effects : NO_EFFECTS));
+            } else if (key.block != null) {
+                blockTypes.put(key.block, entry.getValue());
+            }
+        }
+
+        for (Block block : Block.REGISTRY) {
+            Item item = Item.getItemFromBlock(block);
+            if (item != Items.AIR && itemFoods.containsKey(item)) {
+                blockTypes.put(block, itemFoods.get(item).type);
+            }
+        }
+
+        FoodHelper.itemFoods = itemFoods;
+        FoodHelper.blockTypes = blockTypes;
+        compiled = true;
     }
 
     public static void registerFoodAuto(ItemFood food, FoodType foodType, FoodEffect... effects) {
@@ -124,6 +169,10 @@ public class FoodHelper {
             FOOD_TYPES.put(foodType, foodsForType);
             HEAL_AMOUNTS.put(food, healAmount);
             FOOD_EFFECTS.put(food, effects);
+
+            if (compiled) {
+                compile();
+            }
         }
     }
 
@@ -154,34 +203,29 @@ public class FoodHelper {
         } ).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
-    private static FoodType getFoodType(FoodKey key) {
-        for (FoodType foodType : FoodType.values()) {
-            if (getFoodType(foodType).contains(key)) {
-                return foodType;
-            }
-        }
-
-        return null;
-    }
-
     public static FoodType getFoodType(Item item) {
-        return getFoodType(new FoodKey(item));
+        CompiledFood food = itemFoods.get(item);
+        return food != null ? food.type : null;
     }
 
     public static FoodType getFoodType(Block block) {
-        return getFoodType(new FoodKey(block));
+        return blockTypes.get(block);
     }
 
     public static boolean isFoodType(Item item, FoodType foodType) {
-        return getFoodType(foodType).contains(new FoodKey(item));
+        return item != null && getFoodType(item) == foodType;
     }
 
     public static boolean isEdible(DinosaurEntity entity, Diet diet, Item item) {
-        return item != null && getEdibleFoods(entity, diet).contains(new FoodKey(item));
+        return item != null && isEdible(entity, diet, getFoodType(item));
     }
 
     public static boolean isEdible(DinosaurEntity entity, Diet diet, Block block) {
-        return block != null && getEdibleFoods(entity, diet).contains(new FoodKey(block));
+        return block != null && isEdible(entity, diet, getFoodType(block));
+    }
+
+    private static boolean isEdible(DinosaurEntity entity, Diet diet, FoodType foodType) {
+        return foodType != null && (diet.getFoodTypeMask(entity) & (1 << foodType.ordinal())) != 0;
     }
 
     public static HashSet<Item> getEdibleFoodItems(DinosaurEntity entity, Diet diet) {
@@ -199,23 +243,25 @@ public class FoodHelper {
     }
 
     public static int getHealAmount(Item item) {
-        return HEAL_AMOUNTS.getOrDefault(new FoodKey(item), 0);
+        CompiledFood food = itemFoods.get(item);
+        return food != null ? food.healAmount : 0;
     }
 
     public static void applyEatEffects(DinosaurEntity entity, Item item) {
-        FoodEffect[] effects = FOOD_EFFECTS.get(new FoodKey(item));
-
-        if (effects != null) {
-            for (FoodEffect effect : effects) {
-                if (entity.getRNG().nextInt(100) <= effect.chance) {
-                    entity.addPotionEffect(effect.effect);
-                }
+        for (FoodEffect effect : getEffects(item)) {
+            if (entity.getRNG().nextInt(100) <= effect.chance) {
+                entity.addPotionEffect(effect.effect);
             }
         }
     }
 
+    private static FoodEffect[] getEffects(Item item) {
+        CompiledFood food = itemFoods.get(item);
+        return food != null ? food.effects : NO_EFFECTS;
+    }
+
     public static boolean isFood(Item item) {
-        return FOODS.contains(new FoodKey(item));
+        return item != null && getFoodType(item) != null;
     }
 
     public static class FoodEffect {
@@ -228,6 +274,18 @@ public class FoodHelper {
         }
     }
 
+    private static class CompiledFood {
+        private final FoodType type;
+        private final int healAmount;
+        private final FoodEffect[] effects;
+
+        private CompiledFood(FoodType type, int healAmount, FoodEffect[] effects) {
+            this.type = type;
+            this.healAmount = healAmount;
+            this.effects = effects;
+        }
+    }
+
     static class FoodKey {
         final Item item;
         final Block block;
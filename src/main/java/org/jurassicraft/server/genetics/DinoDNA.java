@@ -11,10 +11,10 @@ import java.util.List;
 
 public class/* Bingo! */ DinoDNA {
     private int quality;
-    private String genetics;
+    private Genome genetics;
     private Dinosaur dinosaur;
 
-    public DinoDNA(Dinosaur dinosaur, int quality, String genetics) {
+    public DinoDNA(Dinosaur dinosaur, int quality, Genome genetics) {
         this.quality = quality;
         this.genetics = genetics;
         this.dinosaur = dinosaur;
@@ -25,12 +25,12 @@ public class/* Bingo! */ DinoDNA {
     }
 
     public static DinoDNA readFromNBT(NBTTagCompound nbt) {
-        return nbt == null ? null : new DinoDNA(EntityHandler.getDinosaurById(nbt.getInteger("Dinosaur")), nbt.getInteger("DNAQuality"), nbt.getString("Genetics"));
+        return nbt == null ? null : new DinoDNA(EntityHandler.getDinosaurById(nbt.getInteger("Dinosaur")), nbt.getInteger("DNAQuality"), Genome.from(nbt));
     }
 
     public void writeToNBT(NBTTagCompound nbt) {
         nbt.setInteger("DNAQuality", this.quality);
-        nbt.setString("Genetics", this.genetics);
+        this.genetics.writeToNBT(nbt);
         nbt.setString("StorageId", "DinoDNA");
         nbt.setInteger("Dinosaur", EntityHandler.getDinosaurId(this.dinosaur));
     }
@@ -39,7 +39,7 @@ public class/* Bingo! */ DinoDNA {
         return this.quality;
     }
 
-    public String getGenetics() {
+    public Genome getGenetics() {
         return this.genetics;
     }
 
@@ -60,7 +60,7 @@ public class/* Bingo! */ DinoDNA {
             colour = TextFormatting.RED;
         }
         tooltip.add(colour + LangUtils.translate(LangUtils.LORE.get("dna_quality")).replace("{quality}", LangUtils.getFormattedQuality(this.quality)));
-        tooltip.add(TextFormatting.BLUE + LangUtils.translate(LangUtils.LORE.get("genetic_code")).replace("{code}", LangUtils.getFormattedGenetics(this.genetics)));
+        tooltip.add(TextFormatting.BLUE + LangUtils.translate(LangUtils.LORE.get("genetic_code")).replace("{code}", LangUtils.getFormattedGenetics(this.genetics.toString())));
     }
 
     public Dinosaur getDinosaur() {
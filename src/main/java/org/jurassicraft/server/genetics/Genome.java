@@ -0,0 +1,184 @@
+package org.jurassicraft.server.genetics;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Immutable genetic code, packing each of its A, C, G and T bases into 2 bits, 32 bases per long. Item and entity
+ * NBT still store the code as the "Genetics" string so existing items and saves keep working.
+ */
+public final class Genome {
+    public static final Genome EMPTY = new Genome(0, new long[0]);
+
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+    private static final int BASES_PER_WORD = 32;
+    private static final long LOW_BITS = 0x5555555555555555L;
+
+    private final int length;
+    private final long[] words;
+    private final int hash;
+
+    private String string;
+
+    private Genome(int length, long[] words) {
+        this.length = length;
+        this.words = words;
+        this.hash = 31 * length + Arrays.hashCode(words);
+    }
+
+    public static Genome random(Random random, int length) {
+        long[] words = new long[wordCount(length)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = random.nextLong() & mask(length, i);
+        }
+        return new Genome(length, words);
+    }
+
+    /**
+     * Parses a genetic code string. Characters other than A, C, G and T are read as A.
+     */
+    public static Genome from(String genetics) {
+        if (genetics.isEmpty()) {
+            return EMPTY;
+        }
+        int length = genetics.length();
+        long[] words = new long[wordCount(length)];
+        for (int i = 0; i < length; i++) {
+            long base;
+            switch (genetics.charAt(i)) {
+                case 'C':
+                    base = 1;
+                    break;
+                case 'G':
+                    base = 2;
+                    break;
+                case 'T':
+                    base = 3;
+                    break;
+                default:
+                    base = 0;
+                    break;
+            }
+            words[i / BASES_PER_WORD] |= base << ((i % BASES_PER_WORD) << 1);
+        }
+        return new Genome(length, words);
+    }
+
+    public static Genome from(NBTTagCompound compound) {
+        return Genome.from(compound.getString("Genetics"));
+    }
+
+    public static Genome from(ByteBuf buf) {
+        int length = buf.readUnsignedShort();
+        long[] words = new long[wordCount(length)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buf.readLong();
+        }
+        return length == 0 ? EMPTY : new Genome(length, words);
+    }
+
+    public void writeToNBT(NBTTagCompound compound) {
+        compound.setString("Genetics", this.toString());
+    }
+
+    public void write(ByteBuf buf) {
+        buf.writeShort(this.length);
+        for (long word : this.words) {
+            buf.writeLong(word);
+        }
+    }
+
+    /**
+     * Returns a genome taking every base from either this or the other genome at random. Bases past the end of the
+     * other genome come from this one, and bases past the end of this genome are dropped.
+     */
+    public Genome crossover(Genome other, Random random) {
+        long[] words = new long[this.words.length];
+        for (int i = 0; i < words.length; i++) {
+            long select = random.nextLong() & LOW_BITS;
+            select |= select << 1;
+            if (i < other.words.length) {
+                select &= mask(other.length, i) & mask(this.length, i);
+                words[i] = (this.words[i] & ~select) | (other.words[i] & select);
+            } else {
+                words[i] = this.words[i];
+            }
+        }
+        return new Genome(this.length, words);
+    }
+
+    /**
+     * Returns a genome where every base has the given chance of being replaced by a random base.
+     */
+    public Genome mutate(Random random, float chance) {
+        long[] words = this.words.clone();
+        boolean mutated = false;
+        for (int i = 0; i < this.length; i++) {
+            if (random.nextFloat() < chance) {
+                int shift = (i % BASES_PER_WORD) << 1;
+                words[i / BASES_PER_WORD] = (words[i / BASES_PER_WORD] & ~(3L << shift)) | ((long) random.nextInt(4) << shift);
+                mutated = true;
+            }
+        }
+        return mutated ? new Genome(this.length, words) : this;
+    }
+
+    public int length() {
+        return this.length;
+    }
+
+    public boolean isEmpty() {
+        return this.length == 0;
+    }
+
+    public char getBase(int index) {
+        return BASES[(int) (this.words[index / BASES_PER_WORD] >>> ((index % BASES_PER_WORD) << 1)) & 3];
+    }
+
+    private static int wordCount(int length) {
+        return (length + BASES_PER_WORD - 1) / BASES_PER_WORD;
+    }
+
+    /**
+     * Returns the bits of the given word that hold bases of a genome with the given length.
+     */
+    private static long mask(int length, int word) {
+        int bases = length - word * BASES_PER_WORD;
+        if (bases >= BASES_PER_WORD) {
+            return -1L;
+        }
+        return bases <= 0 ? 0L : (1L << (bases << 1)) - 1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Genome)) {
+            return false;
+        }
+        Genome genome = (Genome) obj;
+        return this.hash == genome.hash && this.length == genome.length && Arrays.equals(this.words, genome.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        if (this.string == null) {
+            char[] chars = new char[this.length];
+            for (int i = 0; i < this.length; i++) {
+                chars[i] = this.getBase(i);
+            }
+            this.string = new String(chars);
+        }
+        return this.string;
+    }
+}
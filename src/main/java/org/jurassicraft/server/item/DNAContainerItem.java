@@ -5,6 +5,7 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import org.jurassicraft.server.genetics.GeneticsHelper;
+import org.jurassicraft.server.genetics.Genome;
 
 public class DNAContainerItem extends Item {
     public int getContainerId(ItemStack stack) {
@@ -31,19 +32,20 @@ public class DNAContainerItem extends Item {
         return quality;
     }
 
-    public static String getGeneticCode(EntityPlayer player, ItemStack stack) {
+    public static Genome getGeneticCode(EntityPlayer player, ItemStack stack) {
         NBTTagCompound nbt = stack.getTagCompound();
 
-        String genetics = GeneticsHelper.randomGenetics(player.world.rand);
+        Genome genetics;
 
         if (nbt == null) {
             nbt = new NBTTagCompound();
         }
 
         if (nbt.hasKey("Genetics")) {
-            genetics = nbt.getString("Genetics");
+            genetics = Genome.from(nbt);
         } else {
-            nbt.setString("Genetics", genetics);
+            genetics = GeneticsHelper.randomGenetics(player.world.rand);
+            genetics.writeToNBT(nbt);
         }
 
         stack.setTagCompound(nbt);
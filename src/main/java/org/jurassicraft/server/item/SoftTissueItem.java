@@ -14,6 +14,7 @@ import org.jurassicraft.server.dinosaur.Dinosaur;
 import org.jurassicraft.server.entity.EntityHandler;
 import org.jurassicraft.server.genetics.DinoDNA;
 import org.jurassicraft.server.genetics.GeneticsHelper;
+import org.jurassicraft.server.genetics.Genome;
 import org.jurassicraft.server.tab.TabHandler;
 import org.jurassicraft.server.util.LangUtils;
 
@@ -91,7 +92,7 @@ public class SoftTissueItem extends Item implements SequencableItem {
     public List<Pair<Float, ItemStack>> getChancedOutputs(ItemStack inputItem) {
         List<Pair<Float, ItemStack>> list = Lists.newArrayList();
         NBTTagCompound nbt = new NBTTagCompound();
-        DinoDNA dna = new DinoDNA(EntityHandler.getDinosaurById(inputItem.getItemDamage()), -1, "");
+        DinoDNA dna = new DinoDNA(EntityHandler.getDinosaurById(inputItem.getItemDamage()), -1, Genome.EMPTY);
         dna.writeToNBT(nbt);
         ItemStack output = new ItemStack(ItemHandler.STORAGE_DISC);
         output.setTagCompound(nbt);
@@ -16,6 +16,7 @@ import org.jurassicraft.server.api.SynthesizableItem;
 import org.jurassicraft.server.dinosaur.Dinosaur;
 import org.jurassicraft.server.entity.EntityHandler;
 import org.jurassicraft.server.genetics.DinoDNA;
+import org.jurassicraft.server.genetics.Genome;
 import org.jurassicraft.server.genetics.PlantDNA;
 import org.jurassicraft.server.genetics.StorageType;
 import org.jurassicraft.server.genetics.StorageTypeRegistry;
@@ -75,7 +76,7 @@ public class StorageDiscItem extends Item implements SynthesizableItem {
         List<ItemStack> list = Lists.newArrayList();
 
         EntityHandler.getRegisteredDinosaurs().forEach(dino -> {
-            DinoDNA dna = new DinoDNA(dino, -1, "");
+            DinoDNA dna = new DinoDNA(dino, -1, Genome.EMPTY);
             ItemStack stack = new ItemStack(this);
             NBTTagCompound nbt = new NBTTagCompound();
             dna.writeToNBT(nbt);
@@ -9,6 +9,7 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import org.jurassicraft.JurassiCraft;
+import org.jurassicraft.server.block.entity.MachineBaseBlockEntity;
 import org.jurassicraft.server.block.entity.TemperatureControl;
 
 public class ChangeTemperatureMessage extends AbstractMessage<ChangeTemperatureMessage> {
@@ -41,7 +42,12 @@ public class ChangeTemperatureMessage extends AbstractMessage<ChangeTemperatureM
             TemperatureControl control = (TemperatureControl) tile;
             if (control.isUsableByPlayer(player) && message.index >= 0 && message.index < control.getTemperatureCount()) {
                 control.setTemperature(message.index, message.temperature);
-                JurassiCraft.NETWORK_WRAPPER.sendToAll(new ChangeTemperatureMessage(message.pos, message.index, message.temperature));
+                ChangeTemperatureMessage change = new ChangeTemperatureMessage(message.pos, message.index, message.temperature);
+                if (tile instanceof MachineBaseBlockEntity) {
+                    ((MachineBaseBlockEntity) tile).sendToWatching(change);
+                } else {
+                    JurassiCraft.NETWORK_WRAPPER.sendToAll(change);
+                }
             }
         }
     }
@@ -7,56 +7,52 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import org.jurassicraft.server.block.entity.CultivatorBlockEntity;
-import org.jurassicraft.server.container.CultivateContainer;
 
+/**
+ * The cultivator's water level, nutrients and temperature, in field order. Only the fields set in the changed mask are
+ * sent.
+ */
 public class CultivatorSyncNutrients extends AbstractMessage<CultivatorSyncNutrients> {
+    public static final int FIELD_COUNT = 6;
 
     private BlockPos position;
 
-    private int waterLevel;
-    private int lipids;
-    private int proximates;
-    private int minerals;
-    private int vitamins;
-    private int temperature;
+    private int changed;
+    private int[] fields;
 
     @SuppressWarnings("unused")
     public CultivatorSyncNutrients() {}
 
-    public CultivatorSyncNutrients(CultivatorBlockEntity blockEntity) {
-        this.waterLevel = blockEntity.getWaterLevel();
-        this.lipids = blockEntity.getLipids();
-        this.proximates = blockEntity.getProximates();
-        this.minerals = blockEntity.getMinerals();
-        this.vitamins = blockEntity.getVitamins();
-        this.temperature = blockEntity.getTemperature(0);
-
-        this.position = blockEntity.getPos();
+    public CultivatorSyncNutrients(BlockPos position, int changed, int[] fields) {
+        this.position = position;
+        this.changed = changed;
+        this.fields = fields;
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
         buf.writeLong(this.position.toLong());
-        buf.writeInt(this.waterLevel);
-        buf.writeInt(this.lipids);
-        buf.writeInt(this.proximates);
-        buf.writeInt(this.minerals);
-        buf.writeInt(this.vitamins);
-        buf.writeInt(this.temperature);
+        buf.writeByte(this.changed);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if ((this.changed & 1 << i) != 0) {
+                ByteBufUtils.writeVarInt(buf, this.fields[i], 5);
+            }
+        }
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
         this.position = BlockPos.fromLong(buf.readLong());
-        this.waterLevel = buf.readInt();
-        this.lipids = buf.readInt();
-        this.proximates = buf.readInt();
-        this.minerals = buf.readInt();
-        this.vitamins = buf.readInt();
-        this.temperature = buf.readInt();
-
+        this.changed = buf.readUnsignedByte();
+        this.fields = new int[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if ((this.changed & 1 << i) != 0) {
+                this.fields[i] = ByteBufUtils.readVarInt(buf, 5);
+            }
+        }
     }
 
     @Override
@@ -64,13 +60,11 @@ public class CultivatorSyncNutrients extends AbstractMessage<CultivatorSyncNutri
         TileEntity tileEntity = player.world.getTileEntity(message.position);
         if(tileEntity instanceof CultivatorBlockEntity) {
             CultivatorBlockEntity cultivator = (CultivatorBlockEntity)tileEntity;
-            cultivator.setField(2, this.waterLevel);
-            cultivator.setField(3, this.proximates);
-            cultivator.setField(4, this.minerals);
-            cultivator.setField(5, this.vitamins);
-            cultivator.setField(6, this.lipids);
-            cultivator.setField(7, this.temperature);
-
+            for (int i = 0; i < FIELD_COUNT; i++) {
+                if ((message.changed & 1 << i) != 0) {
+                    cultivator.setField(cultivator.getProgressFieldCount() + i, message.fields[i]);
+                }
+            }
         }
     }
 
@@ -0,0 +1,78 @@
+package org.jurassicraft.server.message;
+
+import io.netty.buffer.ByteBuf;
+import net.ilexiconn.llibrary.server.network.AbstractMessage;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import org.jurassicraft.server.block.entity.MachineBaseBlockEntity;
+
+/**
+ * Progress of the machine processes that changed since the last sync. Clients keep advancing running processes on
+ * their own between messages.
+ */
+public class MachineProgressMessage extends AbstractMessage<MachineProgressMessage> {
+    private BlockPos pos;
+    private int[] processes;
+    private int[] processTimes;
+    private int[] totalProcessTimes;
+    private boolean[] running;
+
+    @SuppressWarnings("unused")
+    public MachineProgressMessage() {}
+
+    public MachineProgressMessage(BlockPos pos, int[] processes, int[] processTimes, int[] totalProcessTimes, boolean[] running) {
+        this.pos = pos;
+        this.processes = processes;
+        this.processTimes = processTimes;
+        this.totalProcessTimes = totalProcessTimes;
+        this.running = running;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeLong(this.pos.toLong());
+        buf.writeByte(this.processes.length);
+        for (int i = 0; i < this.processes.length; i++) {
+            buf.writeByte(this.processes[i]);
+            ByteBufUtils.writeVarInt(buf, this.processTimes[i], 5);
+            ByteBufUtils.writeVarInt(buf, this.totalProcessTimes[i], 5);
+            buf.writeBoolean(this.running[i]);
+        }
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        this.pos = BlockPos.fromLong(buf.readLong());
+        int count = buf.readUnsignedByte();
+        this.processes = new int[count];
+        this.processTimes = new int[count];
+        this.totalProcessTimes = new int[count];
+        this.running = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            this.processes[i] = buf.readUnsignedByte();
+            this.processTimes[i] = ByteBufUtils.readVarInt(buf, 5);
+            this.totalProcessTimes[i] = ByteBufUtils.readVarInt(buf, 5);
+            this.running[i] = buf.readBoolean();
+        }
+    }
+
+    @Override
+    public void onClientReceived(Minecraft client, MachineProgressMessage message, EntityPlayer player, MessageContext messageContext) {
+        TileEntity tile = player.world.getTileEntity(message.pos);
+        if (tile instanceof MachineBaseBlockEntity) {
+            MachineBaseBlockEntity machine = (MachineBaseBlockEntity) tile;
+            for (int i = 0; i < message.processes.length; i++) {
+                machine.setProgress(message.processes[i], message.processTimes[i], message.totalProcessTimes[i], message.running[i]);
+            }
+        }
+    }
+
+    @Override
+    public void onServerReceived(MinecraftServer server, MachineProgressMessage message, EntityPlayer player, MessageContext messageContext) {
+    }
+}
@@ -0,0 +1,62 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+import org.jurassicraft.server.entity.DinosaurEntity;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-world lookup of loaded dinosaurs by UUID, kept up to date as dinosaurs join and leave the world.
+ * The generation is bumped on every change, so callers can cache a resolved dinosaur until it changes.
+ */
+public class DinosaurIndex implements WorldIndex {
+    private static final WorldIndexRegistry<DinosaurIndex> INDICES = WorldIndexRegistry.create(world -> new DinosaurIndex());
+
+    private final Map<UUID, WeakReference<DinosaurEntity>> dinosaurs = new HashMap<>();
+    private int generation;
+
+    public static DinosaurIndex get(World world) {
+        return INDICES.get(world);
+    }
+
+    public static DinosaurIndex getIfPresent(World world) {
+        return INDICES.getIfPresent(world);
+    }
+
+    public void add(DinosaurEntity dinosaur) {
+        this.dinosaurs.put(dinosaur.getUniqueID(), new WeakReference<>(dinosaur));
+        this.generation++;
+    }
+
+    public void remove(DinosaurEntity dinosaur) {
+        WeakReference<DinosaurEntity> reference = this.dinosaurs.get(dinosaur.getUniqueID());
+        if (reference != null && (reference.get() == dinosaur || reference.get() == null)) {
+            this.dinosaurs.remove(dinosaur.getUniqueID());
+        }
+        this.generation++;
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entity) {
+        if (entity instanceof DinosaurEntity) {
+            this.remove((DinosaurEntity) entity);
+        }
+    }
+
+    public DinosaurEntity get(UUID uuid) {
+        WeakReference<DinosaurEntity> reference = this.dinosaurs.get(uuid);
+        return reference != null ? reference.get() : null;
+    }
+
+    public int getGeneration() {
+        return this.generation;
+    }
+
+    public int size() {
+        return this.dinosaurs.size();
+    }
+}
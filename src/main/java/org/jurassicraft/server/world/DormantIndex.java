@@ -0,0 +1,89 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.jurassicraft.server.entity.DinosaurEntity;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-world index of dormant dinosaurs, bucketed by the chunk they went dormant in. When a living entity enters a
+ * chunk, dormant dinosaurs in and around it are asked to check for predators on their next tick, so they do not
+ * have to look for predators themselves every tick.
+ */
+public class DormantIndex implements WorldIndex {
+    private static final WorldIndexRegistry<DormantIndex> INDICES = WorldIndexRegistry.create(world -> new DormantIndex());
+
+    private final Map<Long, Set<DinosaurEntity>> chunks = new HashMap<>();
+    private final Map<DinosaurEntity, Long> keys = new HashMap<>();
+
+    public static DormantIndex get(World world) {
+        return INDICES.get(world);
+    }
+
+    public static DormantIndex getIfPresent(World world) {
+        return INDICES.getIfPresent(world);
+    }
+
+    public void add(DinosaurEntity dinosaur) {
+        long key = ChunkPos.asLong(dinosaur.chunkCoordX, dinosaur.chunkCoordZ);
+        Long previous = this.keys.put(dinosaur, key);
+        if (previous != null && previous != key) {
+            this.removeFromChunk(dinosaur, previous);
+        }
+        this.chunks.computeIfAbsent(key, k -> new HashSet<>()).add(dinosaur);
+    }
+
+    public void remove(DinosaurEntity dinosaur) {
+        Long key = this.keys.remove(dinosaur);
+        if (key != null) {
+            this.removeFromChunk(dinosaur, key);
+        }
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entity) {
+        if (entity instanceof DinosaurEntity) {
+            this.remove((DinosaurEntity) entity);
+        }
+    }
+
+    private void removeFromChunk(DinosaurEntity dinosaur, long key) {
+        Set<DinosaurEntity> dinosaurs = this.chunks.get(key);
+        if (dinosaurs != null) {
+            dinosaurs.remove(dinosaur);
+            if (dinosaurs.isEmpty()) {
+                this.chunks.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Requests a predator check from every dormant dinosaur within one chunk of the chunk the entity entered.
+     */
+    public void onEntityEnteredChunk(Entity entity, int chunkX, int chunkZ) {
+        if (this.chunks.isEmpty()) {
+            return;
+        }
+        for (int offsetX = -1; offsetX <= 1; offsetX++) {
+            for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+                Set<DinosaurEntity> dinosaurs = this.chunks.get(ChunkPos.asLong(chunkX + offsetX, chunkZ + offsetZ));
+                if (dinosaurs != null) {
+                    for (DinosaurEntity dinosaur : dinosaurs) {
+                        if (dinosaur != entity) {
+                            dinosaur.requestWakeCheck();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return this.keys.size();
+    }
+}
@@ -0,0 +1,106 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.jurassicraft.server.block.entity.FeederBlockEntity;
+import org.jurassicraft.server.entity.DinosaurEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-world index of loaded feeders, bucketed by chunk. Feeders register themselves when loaded and
+ * unregister when invalidated or unloaded, so dinosaurs can find feeders without scanning blocks.
+ */
+public class FeederIndex implements WorldIndex {
+    private static final WorldIndexRegistry<FeederIndex> INDICES = WorldIndexRegistry.create(FeederIndex::new);
+
+    private final Map<Long, Set<BlockPos>> chunks = new HashMap<>();
+    private final World world;
+
+    private FeederIndex(World world) {
+        this.world = world;
+    }
+
+    public static FeederIndex get(World world) {
+        return INDICES.get(world);
+    }
+
+    public void add(BlockPos pos) {
+        this.chunks.computeIfAbsent(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4), key -> new HashSet<>()).add(pos.toImmutable());
+    }
+
+    public void remove(BlockPos pos) {
+        long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        Set<BlockPos> feeders = this.chunks.get(key);
+        if (feeders != null) {
+            feeders.remove(pos);
+            if (feeders.isEmpty()) {
+                this.chunks.remove(key);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Set<BlockPos> feeders : this.chunks.values()) {
+            size += feeders.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns every indexed feeder within the given cube radius around the center, closest first.
+     */
+    public List<BlockPos> getFeeders(BlockPos center, int radius) {
+        List<BlockPos> feeders = new ArrayList<>();
+        if (this.chunks.isEmpty()) {
+            return feeders;
+        }
+        int minChunkX = (center.getX() - radius) >> 4;
+        int maxChunkX = (center.getX() + radius) >> 4;
+        int minChunkZ = (center.getZ() - radius) >> 4;
+        int maxChunkZ = (center.getZ() + radius) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Set<BlockPos> chunk = this.chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (chunk != null) {
+                    for (BlockPos pos : chunk) {
+                        if (Math.abs(pos.getX() - center.getX()) <= radius && Math.abs(pos.getY() - center.getY()) <= radius && Math.abs(pos.getZ() - center.getZ()) <= radius) {
+                            feeders.add(pos);
+                        }
+                    }
+                }
+            }
+        }
+        feeders.sort(Comparator.comparingDouble(center::distanceSq));
+        return feeders;
+    }
+
+    /**
+     * Returns the feeders within range that currently hold food the given dinosaur's diet accepts and that
+     * are not already in use, closest first.
+     */
+    public List<FeederBlockEntity> getFeeders(DinosaurEntity dinosaur, int radius) {
+        List<FeederBlockEntity> feeders = new ArrayList<>();
+        for (BlockPos pos : this.getFeeders(dinosaur.getPosition(), radius)) {
+            TileEntity tile = this.world.getTileEntity(pos);
+            if (tile instanceof FeederBlockEntity) {
+                FeederBlockEntity feeder = (FeederBlockEntity) tile;
+                if (feeder.canFeedDinosaur(dinosaur) && feeder.getFeeding() == null && feeder.openAnimation == 0) {
+                    feeders.add(feeder);
+                }
+            } else {
+                this.remove(pos);
+            }
+        }
+        return feeders;
+    }
+}
@@ -0,0 +1,163 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-world bitmap of electric fence blocks that hurt dinosaurs: fence bases, poles and powered wires. Fence block
+ * entities set and clear their bits when they load, unload or when a wire's network powers or unpowers, so pathing
+ * and AI can check for fences without touching tile entities. Only chunks and sections containing fences allocate a
+ * bitmap.
+ */
+public class FenceHazardIndex implements WorldIndex {
+    private static final WorldIndexRegistry<FenceHazardIndex> INDICES = WorldIndexRegistry.create(FenceHazardIndex::new);
+
+    private final Map<Long, long[][]> chunks = new HashMap<>();
+    private final World world;
+
+    private FenceHazardIndex(World world) {
+        this.world = world;
+    }
+
+    public static FenceHazardIndex get(World world) {
+        return INDICES.get(world);
+    }
+
+    public void add(BlockPos pos) {
+        if (pos.getY() < 0 || pos.getY() > 255) {
+            return;
+        }
+        long[][] sections = this.chunks.computeIfAbsent(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4), key -> new long[16][]);
+        long[] bits = sections[pos.getY() >> 4];
+        if (bits == null) {
+            bits = new long[64];
+            sections[pos.getY() >> 4] = bits;
+        }
+        int index = index(pos.getX(), pos.getY(), pos.getZ());
+        long mask = 1L << index;
+        if ((bits[index >> 6] & mask) == 0) {
+            bits[index >> 6] |= mask;
+            this.onChanged(pos);
+        }
+    }
+
+    public void remove(BlockPos pos) {
+        long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        long[][] sections = this.chunks.get(key);
+        if (sections == null || pos.getY() < 0 || pos.getY() > 255) {
+            return;
+        }
+        long[] bits = sections[pos.getY() >> 4];
+        int index = index(pos.getX(), pos.getY(), pos.getZ());
+        long mask = 1L << index;
+        if (bits == null || (bits[index >> 6] & mask) == 0) {
+            return;
+        }
+        bits[index >> 6] &= ~mask;
+        if (isEmpty(bits)) {
+            sections[pos.getY() >> 4] = null;
+            boolean empty = true;
+            for (long[] section : sections) {
+                if (section != null) {
+                    empty = false;
+                    break;
+                }
+            }
+            if (empty) {
+                this.chunks.remove(key);
+            }
+        }
+        this.onChanged(pos);
+    }
+
+    private void onChanged(BlockPos pos) {
+        PathNodeIndex nodes = PathNodeIndex.getIfPresent(this.world);
+        if (nodes != null) {
+            nodes.invalidate(pos);
+        }
+    }
+
+    public boolean isHazard(int x, int y, int z) {
+        if (y < 0 || y > 255) {
+            return false;
+        }
+        long[][] sections = this.chunks.get(ChunkPos.asLong(x >> 4, z >> 4));
+        if (sections == null) {
+            return false;
+        }
+        long[] bits = sections[y >> 4];
+        if (bits == null) {
+            return false;
+        }
+        int index = index(x, y, z);
+        return (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    public boolean isHazard(BlockPos pos) {
+        return this.isHazard(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Returns whether any hazard lies within the given cube radius around the center.
+     */
+    public boolean isHazardNear(BlockPos center, int radius) {
+        if (this.chunks.isEmpty()) {
+            return false;
+        }
+        for (int x = center.getX() - radius; x <= center.getX() + radius; x++) {
+            for (int z = center.getZ() - radius; z <= center.getZ() + radius; z++) {
+                if (!this.chunks.containsKey(ChunkPos.asLong(x >> 4, z >> 4))) {
+                    continue;
+                }
+                for (int y = center.getY() - radius; y <= center.getY() + radius; y++) {
+                    if (this.isHazard(x, y, z)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of the bitmap of the given section, or null if it contains no hazards.
+     */
+    public long[] copySection(int chunkX, int sectionY, int chunkZ) {
+        long[][] sections = this.chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+        if (sections == null || sections[sectionY] == null) {
+            return null;
+        }
+        return sections[sectionY].clone();
+    }
+
+    public int size() {
+        int size = 0;
+        for (long[][] sections : this.chunks.values()) {
+            for (long[] bits : sections) {
+                if (bits != null) {
+                    for (long word : bits) {
+                        size += Long.bitCount(word);
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    public static int index(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
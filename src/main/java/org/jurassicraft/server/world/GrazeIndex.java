@@ -0,0 +1,149 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.jurassicraft.server.food.FoodHelper;
+import org.jurassicraft.server.food.FoodType;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-world cache of edible block positions, grouped by chunk section. Sections are built from the section's
+ * block state palette, so sections without any edible block state are skipped without reading their blocks.
+ * Cached sections are updated in place when a block inside them changes.
+ */
+public class GrazeIndex extends SectionIndex<Map<BlockPos, FoodType>> {
+    private static final WorldIndexRegistry<GrazeIndex> INDICES = WorldIndexRegistry.create(GrazeIndex::new);
+
+    private static final int MAX_PALETTE_BITS = 8;
+
+    private GrazeIndex(World world) {
+        super(world, 1200);
+    }
+
+    public static GrazeIndex get(World world) {
+        return INDICES.get(world);
+    }
+
+    public static GrazeIndex getIfPresent(World world) {
+        return INDICES.getIfPresent(world);
+    }
+
+    /**
+     * Returns the closest edible block of one of the given food types within the cube radius, or null if there is none.
+     */
+    public BlockPos getClosest(BlockPos center, int radius, Set<FoodType> foodTypes, BlockPos exclude) {
+        BlockPos closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (int sectionX = (center.getX() - radius) >> 4; sectionX <= (center.getX() + radius) >> 4; sectionX++) {
+            for (int sectionY = (center.getY() - radius) >> 4; sectionY <= (center.getY() + radius) >> 4; sectionY++) {
+                for (int sectionZ = (center.getZ() - radius) >> 4; sectionZ <= (center.getZ() + radius) >> 4; sectionZ++) {
+                    Map<BlockPos, FoodType> section = this.getSection(sectionX, sectionY, sectionZ);
+                    if (section == null || section.isEmpty()) {
+                        continue;
+                    }
+                    for (Map.Entry<BlockPos, FoodType> entry : section.entrySet()) {
+                        BlockPos pos = entry.getKey();
+                        if (foodTypes.contains(entry.getValue()) && !pos.equals(exclude) && Math.abs(pos.getX() - center.getX()) <= radius && Math.abs(pos.getY() - center.getY()) <= radius && Math.abs(pos.getZ() - center.getZ()) <= radius) {
+                            double distance = pos.distanceSq(center);
+                            if (distance < closestDistance) {
+                                closest = pos;
+                                closestDistance = distance;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    @Override
+    public void onBlockChanged(BlockPos pos, IBlockState state) {
+        Map<BlockPos, FoodType> section = this.getCachedSection(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+        if (section != null) {
+            FoodType foodType = FoodHelper.getFoodType(state.getBlock());
+            if (foodType != null) {
+                section.put(pos.toImmutable(), foodType);
+            } else {
+                section.remove(pos);
+            }
+        }
+    }
+
+    @Override
+    protected Map<BlockPos, FoodType> compute(Chunk chunk, int sectionY) {
+        Map<BlockPos, FoodType> section = new HashMap<>();
+        ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+        if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+            return section;
+        }
+        Map<IBlockState, FoodType> edible = this.getEdiblePaletteStates(storage.getData());
+        if (edible != null && edible.isEmpty()) {
+            return section;
+        }
+        boolean usesPalette = edible != null;
+        if (!usesPalette) {
+            edible = new IdentityHashMap<>();
+        }
+        int baseX = chunk.x << 4;
+        int baseY = sectionY << 4;
+        int baseZ = chunk.z << 4;
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    IBlockState state = storage.get(x, y, z);
+                    FoodType foodType;
+                    if (usesPalette || edible.containsKey(state)) {
+                        foodType = edible.get(state);
+                    } else {
+                        foodType = FoodHelper.getFoodType(state.getBlock());
+                        edible.put(state, foodType);
+                    }
+                    if (foodType != null) {
+                        section.put(new BlockPos(baseX + x, baseY + y, baseZ + z), foodType);
+                    }
+                }
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Returns the edible states present in the container's local palette, or null if the container uses the global
+     * palette and every block has to be checked.
+     */
+    private Map<IBlockState, FoodType> getEdiblePaletteStates(BlockStateContainer container) {
+        if (!PaletteAccess.isAvailable()) {
+            return null;
+        }
+        try {
+            int bits = PaletteAccess.getBits(container);
+            if (bits > MAX_PALETTE_BITS) {
+                return null;
+            }
+            IBlockStatePalette palette = PaletteAccess.getPalette(container);
+            Map<IBlockState, FoodType> edible = new IdentityHashMap<>();
+            for (int id = 0; id < 1 << bits; id++) {
+                IBlockState state = palette.getBlockState(id);
+                if (state != null) {
+                    FoodType foodType = FoodHelper.getFoodType(state.getBlock());
+                    if (foodType != null) {
+                        edible.put(state, foodType);
+                    }
+                }
+            }
+            return edible;
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.world.World;
+import org.jurassicraft.server.block.entity.MachineBaseBlockEntity;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Per-world queue of machine updates ordered by world time. Machines only schedule themselves while they have a
+ * running process, and only for the tick their next process finishes, so idle and blocked machines cost nothing until
+ * a slot change wakes them. Delayed progress syncs share the queue.
+ * <p>
+ * Rescheduling a machine does not remove its earlier entry; the machine ignores entries that no longer match its
+ * scheduled tick.
+ */
+public class MachineScheduler implements WorldIndex {
+    private static final WorldIndexRegistry<MachineScheduler> SCHEDULERS = WorldIndexRegistry.create(world -> new MachineScheduler());
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.tick));
+
+    public static MachineScheduler get(World world) {
+        return SCHEDULERS.get(world);
+    }
+
+    public static MachineScheduler getIfPresent(World world) {
+        return SCHEDULERS.getIfPresent(world);
+    }
+
+    public void schedule(MachineBaseBlockEntity machine, long tick) {
+        this.queue.add(new Entry(machine, tick, false));
+    }
+
+    public void scheduleSync(MachineBaseBlockEntity machine, long tick) {
+        this.queue.add(new Entry(machine, tick, true));
+    }
+
+    /**
+     * Runs every machine update due at or before the current world time. Machines may schedule themselves again while
+     * updating, always for a later tick.
+     */
+    @Override
+    public void update(World world) {
+        long time = world.getTotalWorldTime();
+        while (!this.queue.isEmpty() && this.queue.peek().tick <= time) {
+            Entry entry = this.queue.poll();
+            if (entry.sync) {
+                entry.machine.onScheduledSync();
+            } else {
+                entry.machine.onScheduledUpdate(entry.tick);
+            }
+        }
+    }
+
+    public int size() {
+        return this.queue.size();
+    }
+
+    private static class Entry {
+        private final MachineBaseBlockEntity machine;
+        private final long tick;
+        private final boolean sync;
+
+        private Entry(MachineBaseBlockEntity machine, long tick, boolean sync) {
+            this.machine = machine;
+            this.tick = tick;
+            this.sync = sync;
+        }
+    }
+}
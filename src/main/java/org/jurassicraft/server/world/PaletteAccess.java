@@ -0,0 +1,48 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.util.BitArray;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import org.jurassicraft.JurassiCraft;
+
+import java.lang.reflect.Field;
+
+/**
+ * Reflective access to the palette and packed block storage of chunk sections.
+ */
+public class PaletteAccess {
+    private static Field storageField;
+    private static Field paletteField;
+    private static Field bitsField;
+    private static boolean initialized;
+
+    public static boolean isAvailable() {
+        if (!initialized) {
+            initialized = true;
+            try {
+                storageField = ReflectionHelper.findField(BlockStateContainer.class, "storage", "field_186021_b");
+                paletteField = ReflectionHelper.findField(BlockStateContainer.class, "palette", "field_186022_c");
+                bitsField = ReflectionHelper.findField(BlockStateContainer.class, "bits", "field_186024_e");
+            } catch (ReflectionHelper.UnableToFindFieldException e) {
+                JurassiCraft.getLogger().warn("Unable to access block state palettes", e);
+                storageField = null;
+                paletteField = null;
+                bitsField = null;
+            }
+        }
+        return bitsField != null;
+    }
+
+    public static int getBits(BlockStateContainer container) throws IllegalAccessException {
+        return bitsField.getInt(container);
+    }
+
+    public static IBlockStatePalette getPalette(BlockStateContainer container) throws IllegalAccessException {
+        return (IBlockStatePalette) paletteField.get(container);
+    }
+
+    public static BitArray getStorage(BlockStateContainer container) throws IllegalAccessException {
+        return (BitArray) storageField.get(container);
+    }
+}
@@ -0,0 +1,122 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.pathfinding.PathNodeType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+
+/**
+ * Per-world cache of the path node types dinosaurs compute for each block, shared by every dinosaur path search on
+ * the server thread. Each section stores the raw and the neighbour-adjusted type of its 4096 blocks as bytes, filled
+ * in as they are queried. A block change only resets the cells whose types can depend on it.
+ */
+public class PathNodeIndex extends SectionIndex<byte[]> {
+    private static final WorldIndexRegistry<PathNodeIndex> INDICES = WorldIndexRegistry.create(PathNodeIndex::new);
+    private static final PathNodeType[] TYPES = PathNodeType.values();
+
+    private static final int RAW = 0;
+    private static final int ADJUSTED = 4096;
+
+    private PathNodeIndex(World world) {
+        super(world, 1200);
+    }
+
+    public static PathNodeIndex get(World world) {
+        return INDICES.get(world);
+    }
+
+    public static PathNodeIndex getIfPresent(World world) {
+        return INDICES.getIfPresent(world);
+    }
+
+    /**
+     * Returns whether the type of the given block can be cached, which needs the chunks of the block and of its
+     * horizontal neighbours to be loaded.
+     */
+    public boolean canCache(int x, int y, int z) {
+        if (y < 0 || y > 255) {
+            return false;
+        }
+        int localX = x & 15;
+        int localZ = z & 15;
+        int minChunkX = localX == 0 ? (x >> 4) - 1 : x >> 4;
+        int maxChunkX = localX == 15 ? (x >> 4) + 1 : x >> 4;
+        int minChunkZ = localZ == 0 ? (z >> 4) - 1 : z >> 4;
+        int maxChunkZ = localZ == 15 ? (z >> 4) + 1 : z >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (this.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public PathNodeType getRawType(int x, int y, int z) {
+        return this.get(x, y, z, RAW);
+    }
+
+    public void setRawType(int x, int y, int z, PathNodeType type) {
+        this.set(x, y, z, RAW, type);
+    }
+
+    public PathNodeType getType(int x, int y, int z) {
+        return this.get(x, y, z, ADJUSTED);
+    }
+
+    public void setType(int x, int y, int z, PathNodeType type) {
+        this.set(x, y, z, ADJUSTED, type);
+    }
+
+    private PathNodeType get(int x, int y, int z, int offset) {
+        byte[] section = this.getSection(x >> 4, y >> 4, z >> 4);
+        if (section == null) {
+            return null;
+        }
+        int value = section[offset + index(x, y, z)];
+        return value != 0 ? TYPES[value - 1] : null;
+    }
+
+    private void set(int x, int y, int z, int offset, PathNodeType type) {
+        byte[] section = this.getSection(x >> 4, y >> 4, z >> 4);
+        if (section != null) {
+            section[offset + index(x, y, z)] = (byte) (type.ordinal() + 1);
+        }
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    @Override
+    protected byte[] compute(Chunk chunk, int sectionY) {
+        return new byte[8192];
+    }
+
+    /**
+     * Resets the raw type of the block, and the adjusted types of the block above it and of the blocks around it on
+     * the same layer.
+     */
+    @Override
+    public void invalidate(BlockPos pos) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        this.reset(x, y, z, RAW);
+        this.reset(x, y + 1, z, ADJUSTED);
+        for (int offsetX = -1; offsetX <= 1; offsetX++) {
+            for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+                this.reset(x + offsetX, y, z + offsetZ, ADJUSTED);
+            }
+        }
+    }
+
+    private void reset(int x, int y, int z, int offset) {
+        byte[] section = this.getCachedSection(x >> 4, y >> 4, z >> 4);
+        if (section != null) {
+            section[offset + index(x, y, z)] = 0;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Lazily built per-chunk-section cache. Sections are computed the first time they are queried, dropped
+ * when a block in or next to them changes, when a block range around them is marked dirty, when their
+ * chunk unloads, or once they are older than the maximum age. The maximum age bounds how long changes
+ * made without any notification stay unnoticed.
+ */
+public abstract class SectionIndex<T> implements WorldIndex {
+    private static final int CLEANUP_INTERVAL = 1200;
+
+    protected final World world;
+
+    private final Map<Long, Entry<T>> sections = new HashMap<>();
+    private final int maxAge;
+
+    protected SectionIndex(World world, int maxAge) {
+        this.world = world;
+        this.maxAge = maxAge;
+    }
+
+    public static long key(int sectionX, int sectionY, int sectionZ) {
+        return ((long) sectionX & 0x3FFFFFF) << 38 | ((long) sectionZ & 0x3FFFFFF) << 12 | ((long) sectionY & 0xFFF);
+    }
+
+    /**
+     * Returns the cached data for the given section, computing it if needed, or null if the chunk is not loaded.
+     */
+    protected T getSection(int sectionX, int sectionY, int sectionZ) {
+        if (sectionY < 0 || sectionY > 15) {
+            return null;
+        }
+        long key = key(sectionX, sectionY, sectionZ);
+        long time = this.world.getTotalWorldTime();
+        Entry<T> entry = this.sections.get(key);
+        if (entry == null || time - entry.time > this.maxAge) {
+            Chunk chunk = this.world.getChunkProvider().getLoadedChunk(sectionX, sectionZ);
+            if (chunk == null) {
+                return null;
+            }
+            entry = new Entry<>(this.compute(chunk, sectionY), time);
+            this.sections.put(key, entry);
+        }
+        return entry.value;
+    }
+
+    protected abstract T compute(Chunk chunk, int sectionY);
+
+    /**
+     * Returns the cached data for the given section without computing it.
+     */
+    protected T getCachedSection(int sectionX, int sectionY, int sectionZ) {
+        Entry<T> entry = this.sections.get(key(sectionX, sectionY, sectionZ));
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Called when a block changes. By default every cached section the change can affect is dropped.
+     */
+    @Override
+    public void onBlockChanged(BlockPos pos, IBlockState state) {
+        this.invalidate(pos);
+    }
+
+    /**
+     * Drops every cached section touching the block and its direct neighbours.
+     */
+    public void invalidate(BlockPos pos) {
+        this.onBlockRangeChanged(pos.getX(), pos.getY(), pos.getZ(), pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Drops every cached section touching the range and the blocks directly around it.
+     */
+    @Override
+    public void onBlockRangeChanged(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (this.sections.isEmpty()) {
+            return;
+        }
+        int minSectionX = (minX - 1) >> 4;
+        int minSectionY = Math.max((minY - 1) >> 4, 0);
+        int minSectionZ = (minZ - 1) >> 4;
+        int maxSectionX = (maxX + 1) >> 4;
+        int maxSectionY = Math.min((maxY + 1) >> 4, 15);
+        int maxSectionZ = (maxZ + 1) >> 4;
+        long count = (long) (maxSectionX - minSectionX + 1) * (maxSectionY - minSectionY + 1) * (maxSectionZ - minSectionZ + 1);
+        if (count > this.sections.size()) {
+            this.sections.keySet().removeIf(key -> {
+                int sectionX = (int) (key >> 38);
+                int sectionZ = (int) (key << 26 >> 38);
+                int sectionY = (int) (key & 0xFFF);
+                return sectionX >= minSectionX && sectionX <= maxSectionX && sectionY >= minSectionY && sectionY <= maxSectionY && sectionZ >= minSectionZ && sectionZ <= maxSectionZ;
+            });
+            return;
+        }
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+            for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+                    this.sections.remove(key(sectionX, sectionY, sectionZ));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onChunkUnload(int chunkX, int chunkZ) {
+        if (this.sections.isEmpty()) {
+            return;
+        }
+        for (int sectionY = 0; sectionY < 16; sectionY++) {
+            this.sections.remove(key(chunkX, sectionY, chunkZ));
+        }
+    }
+
+    @Override
+    public void update(World world) {
+        if (world.getTotalWorldTime() % CLEANUP_INTERVAL == 0) {
+            this.cleanup();
+        }
+    }
+
+    public void cleanup() {
+        long time = this.world.getTotalWorldTime();
+        Iterator<Entry<T>> iterator = this.sections.values().iterator();
+        while (iterator.hasNext()) {
+            if (time - iterator.next().time > this.maxAge) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return this.sections.size();
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final long time;
+
+        private Entry(T value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+}
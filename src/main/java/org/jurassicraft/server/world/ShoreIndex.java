@@ -0,0 +1,93 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-world cache of drinkable shore positions: full blocks horizontally next to the top layer of a body of water.
+ */
+public class ShoreIndex extends SectionIndex<List<BlockPos>> {
+    private static final WorldIndexRegistry<ShoreIndex> INDICES = WorldIndexRegistry.create(ShoreIndex::new);
+
+    private ShoreIndex(World world) {
+        super(world, 1200);
+    }
+
+    public static ShoreIndex get(World world) {
+        return INDICES.get(world);
+    }
+
+    public static ShoreIndex getIfPresent(World world) {
+        return INDICES.getIfPresent(world);
+    }
+
+    /**
+     * Returns the known shore positions within the given cube radius around the center, closest first.
+     */
+    public List<BlockPos> getShores(BlockPos center, int radius) {
+        List<BlockPos> shores = new ArrayList<>();
+        for (int sectionX = (center.getX() - radius) >> 4; sectionX <= (center.getX() + radius) >> 4; sectionX++) {
+            for (int sectionY = (center.getY() - radius) >> 4; sectionY <= (center.getY() + radius) >> 4; sectionY++) {
+                for (int sectionZ = (center.getZ() - radius) >> 4; sectionZ <= (center.getZ() + radius) >> 4; sectionZ++) {
+                    List<BlockPos> section = this.getSection(sectionX, sectionY, sectionZ);
+                    if (section != null) {
+                        for (BlockPos pos : section) {
+                            if (Math.abs(pos.getX() - center.getX()) <= radius && Math.abs(pos.getY() - center.getY()) <= radius && Math.abs(pos.getZ() - center.getZ()) <= radius) {
+                                shores.add(pos);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        shores.sort(Comparator.comparingDouble(center::distanceSq));
+        return shores;
+    }
+
+    @Override
+    protected List<BlockPos> compute(Chunk chunk, int sectionY) {
+        ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+        if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<BlockPos> shores = new ArrayList<>();
+        int baseX = chunk.x << 4;
+        int baseY = sectionY << 4;
+        int baseZ = chunk.z << 4;
+        BlockPos.MutableBlockPos neighbour = new BlockPos.MutableBlockPos();
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (storage.get(x, y, z).getMaterial() != Material.WATER || chunk.getBlockState(x, baseY + y + 1, z).getMaterial().isLiquid()) {
+                        continue;
+                    }
+                    for (EnumFacing facing : EnumFacing.HORIZONTALS) {
+                        neighbour.setPos(baseX + x + facing.getFrontOffsetX(), baseY + y, baseZ + z + facing.getFrontOffsetZ());
+                        IBlockState state;
+                        if (neighbour.getX() >> 4 == chunk.x && neighbour.getZ() >> 4 == chunk.z) {
+                            state = chunk.getBlockState(neighbour);
+                        } else if (this.world.isBlockLoaded(neighbour)) {
+                            state = this.world.getBlockState(neighbour);
+                        } else {
+                            continue;
+                        }
+                        if (!state.getMaterial().isLiquid() && state.isFullBlock()) {
+                            shores.add(neighbour.toImmutable());
+                        }
+                    }
+                }
+            }
+        }
+        return shores;
+    }
+}
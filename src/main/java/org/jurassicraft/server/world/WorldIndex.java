@@ -0,0 +1,33 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Per-world server state kept by a {@link WorldIndexRegistry}. World events are forwarded to every index that exists
+ * for the world, so an index only overrides the events it needs.
+ */
+public interface WorldIndex {
+    default void onBlockChanged(BlockPos pos, IBlockState state) {
+    }
+
+    /**
+     * Called when blocks in the given inclusive range may have changed without a block update for each of them.
+     */
+    default void onBlockRangeChanged(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+    }
+
+    default void onEntityRemoved(Entity entity) {
+    }
+
+    default void onChunkUnload(int chunkX, int chunkZ) {
+    }
+
+    /**
+     * Called at the end of every world tick.
+     */
+    default void update(World world) {
+    }
+}
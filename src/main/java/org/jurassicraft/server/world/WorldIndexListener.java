@@ -0,0 +1,81 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import org.jurassicraft.server.entity.DinosaurEntity;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the per-world JurassiCraft indices in sync with block and entity changes on the server.
+ */
+public class WorldIndexListener implements IWorldEventListener {
+    private final World world;
+
+    public WorldIndexListener(World world) {
+        this.world = world;
+    }
+
+    @Override
+    public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+        if (oldState == newState) {
+            return;
+        }
+        WorldIndexRegistry.forEach(world, index -> index.onBlockChanged(pos, newState));
+    }
+
+    @Override
+    public void notifyLightSet(BlockPos pos) {
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+        WorldIndexRegistry.forEach(this.world, index -> index.onBlockRangeChanged(Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2), Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2)));
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+    }
+
+    @Override
+    public void playRecord(SoundEvent sound, BlockPos pos) {
+    }
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void onEntityAdded(Entity entity) {
+        if (entity instanceof DinosaurEntity) {
+            DinosaurIndex.get(entity.world).add((DinosaurEntity) entity);
+        }
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entity) {
+        WorldIndexRegistry.forEach(entity.world, index -> index.onEntityRemoved(entity));
+    }
+
+    @Override
+    public void broadcastSound(int soundID, BlockPos pos, int data) {
+    }
+
+    @Override
+    public void playEvent(EntityPlayer player, int type, BlockPos pos, int data) {
+    }
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+    }
+}
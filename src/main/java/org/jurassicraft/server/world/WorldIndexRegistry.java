@@ -0,0 +1,60 @@
+package org.jurassicraft.server.world;
+
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Holds one {@link WorldIndex} of a kind per world, created on first use. Every registry is tracked, so world events
+ * reach all existing indices and unloading a world drops all of them without each index being listed in the event
+ * handlers.
+ */
+public final class WorldIndexRegistry<T extends WorldIndex> {
+    private static final List<WorldIndexRegistry<?>> REGISTRIES = new CopyOnWriteArrayList<>();
+
+    private final Map<World, T> indices = new WeakHashMap<>();
+    private final Function<World, T> factory;
+
+    private WorldIndexRegistry(Function<World, T> factory) {
+        this.factory = factory;
+    }
+
+    public static <T extends WorldIndex> WorldIndexRegistry<T> create(Function<World, T> factory) {
+        WorldIndexRegistry<T> registry = new WorldIndexRegistry<>(factory);
+        REGISTRIES.add(registry);
+        return registry;
+    }
+
+    public T get(World world) {
+        return this.indices.computeIfAbsent(world, this.factory);
+    }
+
+    @Nullable
+    public T getIfPresent(World world) {
+        return this.indices.get(world);
+    }
+
+    /**
+     * Passes every index that exists for the world to the action.
+     */
+    public static void forEach(World world, Consumer<WorldIndex> action) {
+        for (WorldIndexRegistry<?> registry : REGISTRIES) {
+            WorldIndex index = registry.getIfPresent(world);
+            if (index != null) {
+                action.accept(index);
+            }
+        }
+    }
+
+    public static void unload(World world) {
+        for (WorldIndexRegistry<?> registry : REGISTRIES) {
+            registry.indices.remove(world);
+        }
+    }
+}